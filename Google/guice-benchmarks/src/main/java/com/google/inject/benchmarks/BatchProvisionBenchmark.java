@@ -0,0 +1,95 @@
+package com.google.inject.benchmarks;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.KeySet;
+import com.google.inject.benchmarks.Fixtures.Clock;
+import com.google.inject.benchmarks.Fixtures.DefaultService;
+import com.google.inject.benchmarks.Fixtures.InMemoryRepository;
+import com.google.inject.benchmarks.Fixtures.Leaf;
+import com.google.inject.benchmarks.Fixtures.NamedPlugin;
+import com.google.inject.benchmarks.Fixtures.Plugin;
+import com.google.inject.benchmarks.Fixtures.Repository;
+import com.google.inject.benchmarks.Fixtures.Request;
+import com.google.inject.benchmarks.Fixtures.Service;
+import com.google.inject.benchmarks.Fixtures.SystemClock;
+import com.google.inject.name.Names;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Resolving a list of keys, a mix of singletons, instances, unscoped objects and graphs, with one
+ * {@code getInstance} call per key, with {@code getInstances} and with a prepared {@link KeySet}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BatchProvisionBenchmark {
+
+  @Param({"4", "16", "64"})
+  public int keys;
+
+  private Injector injector;
+  private List<Key<?>> keyList;
+  private KeySet keySet;
+
+  @Setup
+  public void setUp() {
+    injector =
+        Guice.createInjector(
+            new AbstractModule() {
+              @Override
+              protected void configure() {
+                bind(Repository.class).to(InMemoryRepository.class);
+                bind(Clock.class).to(SystemClock.class);
+                bind(Service.class).to(DefaultService.class);
+                for (int i = 0; i < keys; i++) {
+                  bind(Plugin.class)
+                      .annotatedWith(Names.named("plugin" + i))
+                      .toInstance(new NamedPlugin("plugin" + i));
+                }
+              }
+            });
+    List<Key<?>> mix = List.of(Key.get(Clock.class), Key.get(Leaf.class), Key.get(Request.class));
+    keyList = new ArrayList<>(keys);
+    for (int i = 0; i < keys; i++) {
+      keyList.add(i % 4 == 3 ? Key.get(Plugin.class, Names.named("plugin" + i)) : mix.get(i % 4));
+    }
+    keySet = injector.getKeySet(keyList);
+  }
+
+  @Benchmark
+  public void getInstanceEach(Blackhole blackhole) {
+    for (Key<?> key : keyList) {
+      blackhole.consume(injector.getInstance(key));
+    }
+  }
+
+  @Benchmark
+  public Object getInstances() {
+    return injector.getInstances(keyList);
+  }
+
+  @Benchmark
+  public Object keySet() {
+    return keySet.getInstances();
+  }
+}
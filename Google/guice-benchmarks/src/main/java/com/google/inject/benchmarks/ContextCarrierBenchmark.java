@@ -0,0 +1,119 @@
+package com.google.inject.benchmarks;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.benchmarks.Fixtures.Clock;
+import com.google.inject.benchmarks.Fixtures.DefaultService;
+import com.google.inject.benchmarks.Fixtures.InMemoryRepository;
+import com.google.inject.benchmarks.Fixtures.Repository;
+import com.google.inject.benchmarks.Fixtures.Request;
+import com.google.inject.benchmarks.Fixtures.Service;
+import com.google.inject.benchmarks.Fixtures.SystemClock;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@code getInstance} from a few long-lived threads, and once from each of many new platform or
+ * virtual threads, which each start out without any of Guice's per-thread state.
+ *
+ * <p>The benchmarks compile for Java 17, so virtual threads are looked up reflectively and are left
+ * out by default. On JDK 21 or later, add them with {@code -p newThreads=PLATFORM,VIRTUAL} (or run
+ * the forks on such a JDK with {@code -jvm <path to java>}).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class ContextCarrierBenchmark {
+
+  /** Requests handled by each call of {@link #unscopedGraphOnNewThreads}, one per new thread. */
+  private static final int REQUESTS = 64;
+
+  /** The kind of thread started for each request. */
+  public enum NewThreads {
+    PLATFORM,
+    VIRTUAL
+  }
+
+  /** Starts the thread of each request in {@link #unscopedGraphOnNewThreads}. */
+  @State(Scope.Benchmark)
+  public static class ThreadPerRequest {
+    @Param("PLATFORM")
+    public NewThreads newThreads;
+
+    ThreadFactory factory;
+
+    @Setup
+    public void setUp() {
+      factory = newThreads == NewThreads.VIRTUAL ? virtualThreadFactory() : Thread::new;
+    }
+
+    private static ThreadFactory virtualThreadFactory() {
+      try {
+        Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+        return (ThreadFactory)
+            Class.forName("java.lang.Thread$Builder").getMethod("factory").invoke(builder);
+      } catch (ReflectiveOperationException e) {
+        throw new UnsupportedOperationException(
+            "Virtual threads need JDK 21 or later, run the forks on one with -jvm", e);
+      }
+    }
+  }
+
+  private Injector injector;
+
+  @Setup
+  public void setUp() {
+    injector =
+        Guice.createInjector(
+            new AbstractModule() {
+              @Override
+              protected void configure() {
+                bind(Repository.class).to(InMemoryRepository.class);
+                bind(Clock.class).to(SystemClock.class);
+                bind(Service.class).to(DefaultService.class);
+              }
+            });
+  }
+
+  @Benchmark
+  public Object unscopedGraph() {
+    return injector.getInstance(Request.class);
+  }
+
+  @Benchmark
+  @Threads(1)
+  @OperationsPerInvocation(REQUESTS)
+  public Object[] unscopedGraphOnNewThreads(ThreadPerRequest threads)
+      throws InterruptedException {
+    Object[] instances = new Object[REQUESTS];
+    Thread[] started = new Thread[REQUESTS];
+    for (int i = 0; i < REQUESTS; i++) {
+      int request = i;
+      started[i] =
+          threads.factory.newThread(() -> instances[request] = injector.getInstance(Request.class));
+      started[i].start();
+    }
+    for (Thread thread : started) {
+      thread.join();
+    }
+    return instances;
+  }
+}
@@ -0,0 +1,108 @@
+package com.google.inject.benchmarks;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+/** Small object graphs shared by the benchmarks, shaped like typical service code. */
+final class Fixtures {
+  private Fixtures() {}
+
+  interface Repository {
+    String find(String id);
+  }
+
+  static final class InMemoryRepository implements Repository {
+    @Inject
+    InMemoryRepository() {}
+
+    @Override
+    public String find(String id) {
+      return id;
+    }
+  }
+
+  interface Clock {
+    long now();
+  }
+
+  @Singleton
+  static final class SystemClock implements Clock {
+    @Inject
+    SystemClock() {}
+
+    @Override
+    public long now() {
+      return System.nanoTime();
+    }
+  }
+
+  interface Service {
+    String handle(String id);
+  }
+
+  static final class DefaultService implements Service {
+    private final Repository repository;
+    private final Clock clock;
+
+    @Inject
+    DefaultService(Repository repository, Clock clock) {
+      this.repository = repository;
+      this.clock = clock;
+    }
+
+    @Override
+    public String handle(String id) {
+      return repository.find(id);
+    }
+  }
+
+  /** A dependency with no dependencies of its own. */
+  static final class Leaf {
+    @Inject
+    Leaf() {}
+  }
+
+  /** A short-lived, unscoped object with constructor and field dependencies. */
+  static final class Request {
+    final Service service;
+    final Clock clock;
+    final Leaf leaf;
+
+    @Inject Leaf auditLeaf;
+
+    @Inject
+    Request(Service service, Clock clock, Leaf leaf) {
+      this.service = service;
+      this.clock = clock;
+      this.leaf = leaf;
+    }
+  }
+
+  /** Something to bind many times over under different names. */
+  interface Plugin {
+    String name();
+  }
+
+  static final class DefaultPlugin implements Plugin {
+    @Inject
+    DefaultPlugin() {}
+
+    @Override
+    public String name() {
+      return "default";
+    }
+  }
+
+  static final class NamedPlugin implements Plugin {
+    private final String name;
+
+    NamedPlugin(String name) {
+      this.name = name;
+    }
+
+    @Override
+    public String name() {
+      return name;
+    }
+  }
+}
@@ -0,0 +1,113 @@
+package com.google.inject.benchmarks;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.benchmarks.Fixtures.Clock;
+import com.google.inject.benchmarks.Fixtures.DefaultService;
+import com.google.inject.benchmarks.Fixtures.InMemoryRepository;
+import com.google.inject.benchmarks.Fixtures.Leaf;
+import com.google.inject.benchmarks.Fixtures.NamedPlugin;
+import com.google.inject.benchmarks.Fixtures.Plugin;
+import com.google.inject.benchmarks.Fixtures.Repository;
+import com.google.inject.benchmarks.Fixtures.Request;
+import com.google.inject.benchmarks.Fixtures.Service;
+import com.google.inject.benchmarks.Fixtures.SystemClock;
+import com.google.inject.name.Names;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@code getInstance} on a created injector: singletons, unscoped objects and graphs, and lookups
+ * from a grandchild injector that have to consult its ancestors.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GetInstanceBenchmark {
+
+  /** Explicit bindings in the root injector, so the lookups aren't against a trivial table. */
+  private static final int ROOT_BINDINGS = 200;
+
+  private static final Key<Plugin> ROOT_PLUGIN = Key.get(Plugin.class, Names.named("plugin0"));
+
+  private Injector injector;
+  private Injector grandchild;
+
+  @Setup
+  public void setUp() {
+    injector =
+        Guice.createInjector(
+            new AbstractModule() {
+              @Override
+              protected void configure() {
+                bind(Repository.class).to(InMemoryRepository.class);
+                bind(Clock.class).to(SystemClock.class);
+                bind(Service.class).to(DefaultService.class);
+                for (int i = 0; i < ROOT_BINDINGS; i++) {
+                  bind(Plugin.class)
+                      .annotatedWith(Names.named("plugin" + i))
+                      .toInstance(new NamedPlugin("plugin" + i));
+                }
+              }
+            });
+    // warm the JIT bindings in the root, so the children find rather than create them
+    injector.getInstance(Request.class);
+    grandchild = injector.createChildInjector().createChildInjector();
+  }
+
+  @Benchmark
+  public Object singleton() {
+    return injector.getInstance(Clock.class);
+  }
+
+  @Benchmark
+  public Object unscoped() {
+    return injector.getInstance(Leaf.class);
+  }
+
+  /** A request object with linked, singleton and unscoped dependencies, and a field. */
+  @Benchmark
+  public Object unscopedGraph() {
+    return injector.getInstance(Request.class);
+  }
+
+  @Benchmark
+  @Fork(value = 1, jvmArgsAppend = "-Dguice_compiled_provisioning=ENABLED")
+  public Object unscopedGraphCompiled() {
+    return injector.getInstance(Request.class);
+  }
+
+  /** A just-in-time binding owned by the root, looked up through two child injectors. */
+  @Benchmark
+  public Object grandchildJitBinding() {
+    return grandchild.getInstance(Leaf.class);
+  }
+
+  /** As {@link #grandchildJitBinding}, from several threads at once. */
+  @Benchmark
+  @Threads(4)
+  public Object grandchildJitBindingContended() {
+    return grandchild.getInstance(Leaf.class);
+  }
+
+  /** An explicit binding owned by the root, looked up through two child injectors. */
+  @Benchmark
+  public Object grandchildExplicitBinding() {
+    return grandchild.getInstance(ROOT_PLUGIN);
+  }
+}
@@ -0,0 +1,122 @@
+package com.google.inject.benchmarks;
+
+import com.google.inject.Inject;
+import com.google.inject.benchmarks.Fixtures.Leaf;
+import com.google.inject.gee.InjectionPoint;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Scans a class hierarchy with a few injectable members among many plain ones, as injector
+ * creation does for every constructed type. This exercises {@code getAtInject} and, since this
+ * module is compiled with Guice as an annotation processor, the build-time injection index, which
+ * the second benchmark switches off for comparison.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InjectionPointBenchmark {
+
+  @Benchmark
+  public Set<InjectionPoint> indexed() {
+    return InjectionPoint.forInstanceMethodsAndFields(Subclass.class);
+  }
+
+  @Benchmark
+  @Fork(value = 1, jvmArgsAppend = "-Dguice_injection_index=DISABLED")
+  public Set<InjectionPoint> reflective() {
+    return InjectionPoint.forInstanceMethodsAndFields(Subclass.class);
+  }
+
+  static class Superclass {
+    @Inject Leaf injected;
+
+    int a;
+    int b;
+    int c;
+    int d;
+    int e;
+    int f;
+    int g;
+    int h;
+
+    int getA() {
+      return a;
+    }
+
+    int getB() {
+      return b;
+    }
+
+    int getC() {
+      return c;
+    }
+
+    int getD() {
+      return d;
+    }
+
+    void setA(int a) {
+      this.a = a;
+    }
+
+    void setB(int b) {
+      this.b = b;
+    }
+
+    void setC(int c) {
+      this.c = c;
+    }
+
+    void setD(int d) {
+      this.d = d;
+    }
+
+    @Inject
+    void initialize(Leaf leaf) {}
+  }
+
+  static class Subclass extends Superclass {
+    String i;
+    String j;
+    String k;
+    String l;
+
+    String getI() {
+      return i;
+    }
+
+    String getJ() {
+      return j;
+    }
+
+    String getK() {
+      return k;
+    }
+
+    String getL() {
+      return l;
+    }
+
+    @Override
+    int getA() {
+      return super.getA() + 1;
+    }
+
+    @Override
+    @Inject
+    void initialize(Leaf leaf) {}
+  }
+}
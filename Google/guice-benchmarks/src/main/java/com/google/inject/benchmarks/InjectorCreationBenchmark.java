@@ -0,0 +1,93 @@
+package com.google.inject.benchmarks;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Module;
+import com.google.inject.benchmarks.Fixtures.DefaultPlugin;
+import com.google.inject.benchmarks.Fixtures.InMemoryRepository;
+import com.google.inject.benchmarks.Fixtures.NamedPlugin;
+import com.google.inject.benchmarks.Fixtures.Plugin;
+import com.google.inject.benchmarks.Fixtures.Repository;
+import com.google.inject.name.Named;
+import com.google.inject.name.Names;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Creates an injector from a number of modules, each contributing linked, instance and named
+ * bindings. Covers element recording, binding processing, the {@code gee} annotation lookups and
+ * JIT binding creation for the link targets, with modules configured serially and concurrently.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InjectorCreationBenchmark {
+
+  /** Bindings made by each module. */
+  private static final int BINDINGS_PER_MODULE = 10;
+
+  @Param({"1", "10", "100"})
+  public int modules;
+
+  private List<Module> moduleList;
+
+  @Setup
+  public void setUp() {
+    moduleList = new ArrayList<>(modules);
+    for (int i = 0; i < modules; i++) {
+      moduleList.add(new PluginModule(i));
+    }
+    moduleList.add(
+        new AbstractModule() {
+          @Override
+          protected void configure() {
+            bind(Repository.class).to(InMemoryRepository.class);
+          }
+        });
+  }
+
+  @Benchmark
+  public Injector createInjector() {
+    return Guice.createInjector(moduleList);
+  }
+
+  @Benchmark
+  @Fork(value = 1, jvmArgsAppend = "-Dguice_parallel_module_configuration=ENABLED")
+  public Injector createInjectorParallelModules() {
+    return Guice.createInjector(moduleList);
+  }
+
+  private static final class PluginModule extends AbstractModule {
+    private final int index;
+
+    PluginModule(int index) {
+      this.index = index;
+    }
+
+    @Override
+    protected void configure() {
+      for (int i = 0; i < BINDINGS_PER_MODULE; i += 2) {
+        Named linked = Names.named(index + "." + i);
+        bind(Plugin.class).annotatedWith(linked).to(DefaultPlugin.class);
+        Named instance = Names.named(index + "." + (i + 1));
+        bind(Plugin.class).annotatedWith(instance).toInstance(new NamedPlugin(instance.value()));
+      }
+    }
+  }
+}
@@ -0,0 +1,70 @@
+package com.google.inject.benchmarks;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.matcher.Matchers;
+import java.util.concurrent.TimeUnit;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Calls a method through stacks of pass-through interceptors; zero interceptors is the baseline. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InterceptionBenchmark {
+
+  @Param({"0", "1", "3"})
+  public int interceptors;
+
+  private Greeter greeter;
+  private String name = "guice";
+
+  @Setup
+  public void setUp() {
+    greeter =
+        Guice.createInjector(
+                new AbstractModule() {
+                  @Override
+                  protected void configure() {
+                    for (int i = 0; i < interceptors; i++) {
+                      bindInterceptor(
+                          Matchers.only(Greeter.class), Matchers.any(), new PassThrough());
+                    }
+                  }
+                })
+            .getInstance(Greeter.class);
+  }
+
+  @Benchmark
+  public String call() {
+    return greeter.greet(name);
+  }
+
+  /** Must be non-final with a non-private method to be enhanced. */
+  static class Greeter {
+    String greet(String name) {
+      return name;
+    }
+  }
+
+  private static final class PassThrough implements MethodInterceptor {
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+      return invocation.proceed();
+    }
+  }
+}
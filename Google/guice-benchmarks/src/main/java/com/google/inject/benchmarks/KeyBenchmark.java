@@ -0,0 +1,53 @@
+package com.google.inject.benchmarks;
+
+import com.google.inject.Key;
+import com.google.inject.benchmarks.Fixtures.Service;
+import com.google.inject.name.Names;
+import java.lang.annotation.Annotation;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Creates keys with and without binding annotations. Keys with annotation instances go through
+ * {@code Annotations.canonicalizeIfNamed} and the {@code gee} named-annotation providers.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class KeyBenchmark {
+
+  private Annotation named;
+
+  @Setup
+  public void setUp() {
+    named = Names.named("primary");
+  }
+
+  @Benchmark
+  public Key<?> plain() {
+    return Key.get(Service.class);
+  }
+
+  @Benchmark
+  public Key<?> named() {
+    return Key.get(Service.class, named);
+  }
+
+  /** Includes making the annotation, as {@code Key.get(type, Names.named(name))} call sites do. */
+  @Benchmark
+  public Key<?> namesNamed() {
+    return Key.get(Service.class, Names.named("primary"));
+  }
+}
@@ -0,0 +1,85 @@
+package com.google.inject.benchmarks;
+
+import com.google.inject.Guice;
+import com.google.inject.Inject;
+import com.google.inject.Injector;
+import com.google.inject.benchmarks.Fixtures.Leaf;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Provisions an object with injectable fields and methods under each member injection strategy:
+ * reflective setters with fast-class methods (the default), method handles throughout (bytecode
+ * generation disabled), and core reflection throughout.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MemberInjectionBenchmark {
+
+  private Injector injector;
+
+  @Setup
+  public void setUp() {
+    injector = Guice.createInjector();
+  }
+
+  @Benchmark
+  public Object defaults() {
+    return injector.getInstance(Injected.class);
+  }
+
+  @Benchmark
+  @Fork(
+      value = 1,
+      jvmArgsAppend = {
+        "-Dguice_bytecode_gen_option=DISABLED",
+        "-Dguice_member_injection_option=METHOD_HANDLES"
+      })
+  public Object methodHandles() {
+    return injector.getInstance(Injected.class);
+  }
+
+  @Benchmark
+  @Fork(
+      value = 1,
+      jvmArgsAppend = {
+        "-Dguice_bytecode_gen_option=DISABLED",
+        "-Dguice_member_injection_option=REFLECTION"
+      })
+  public Object reflection() {
+    return injector.getInstance(Injected.class);
+  }
+
+  static final class Injected {
+    @Inject Leaf first;
+    @Inject Leaf second;
+    @Inject Leaf third;
+    @Inject Leaf fourth;
+
+    Leaf fifth;
+    Leaf sixth;
+
+    @Inject
+    void setFifth(Leaf fifth) {
+      this.fifth = fifth;
+    }
+
+    @Inject
+    void setSixth(Leaf sixth) {
+      this.sixth = sixth;
+    }
+  }
+}
@@ -0,0 +1,102 @@
+package com.google.inject.benchmarks;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.TypeLiteral;
+import com.google.inject.benchmarks.Fixtures.DefaultPlugin;
+import com.google.inject.benchmarks.Fixtures.NamedPlugin;
+import com.google.inject.benchmarks.Fixtures.Plugin;
+import com.google.inject.multibindings.MapBinder;
+import com.google.inject.multibindings.Multibinder;
+import com.google.inject.name.Names;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Provisions a {@code Multibinder} set and a {@code MapBinder} map whose elements are half instance
+ * bindings and half unscoped constructor bindings, and a set and map of instance bindings only.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MultibindingBenchmark {
+
+  private static final Key<Set<Plugin>> SET = Key.get(new TypeLiteral<Set<Plugin>>() {});
+  private static final Key<Map<String, Plugin>> MAP =
+      Key.get(new TypeLiteral<Map<String, Plugin>>() {});
+  private static final Key<Set<Plugin>> CONSTANT_SET = SET.withAnnotation(Names.named("constant"));
+  private static final Key<Map<String, Plugin>> CONSTANT_MAP =
+      MAP.withAnnotation(Names.named("constant"));
+
+  @Param({"4", "16"})
+  public int elements;
+
+  private Injector injector;
+
+  @Setup
+  public void setUp() {
+    injector =
+        Guice.createInjector(
+            new AbstractModule() {
+              @Override
+              protected void configure() {
+                Multibinder<Plugin> set = Multibinder.newSetBinder(binder(), Plugin.class);
+                MapBinder<String, Plugin> map =
+                    MapBinder.newMapBinder(binder(), String.class, Plugin.class);
+                for (int i = 0; i < elements; i += 2) {
+                  // permitDuplicates isn't set, so the constructed elements must stay distinct
+                  set.addBinding().to(DefaultPlugin.class);
+                  set.addBinding().toInstance(new NamedPlugin("set" + i));
+                  map.addBinding("constructed" + i).to(DefaultPlugin.class);
+                  map.addBinding("instance" + i).toInstance(new NamedPlugin("map" + i));
+                }
+                Multibinder<Plugin> constantSet =
+                    Multibinder.newSetBinder(binder(), Plugin.class, Names.named("constant"));
+                MapBinder<String, Plugin> constantMap =
+                    MapBinder.newMapBinder(
+                        binder(), String.class, Plugin.class, Names.named("constant"));
+                for (int i = 0; i < elements; i++) {
+                  constantSet.addBinding().toInstance(new NamedPlugin("set" + i));
+                  constantMap.addBinding("instance" + i).toInstance(new NamedPlugin("map" + i));
+                }
+              }
+            });
+  }
+
+  @Benchmark
+  public Set<Plugin> multibinder() {
+    return injector.getInstance(SET);
+  }
+
+  @Benchmark
+  public Map<String, Plugin> mapBinder() {
+    return injector.getInstance(MAP);
+  }
+
+  @Benchmark
+  public Set<Plugin> multibinderConstant() {
+    return injector.getInstance(CONSTANT_SET);
+  }
+
+  @Benchmark
+  public Map<String, Plugin> mapBinderConstant() {
+    return injector.getInstance(CONSTANT_MAP);
+  }
+}
@@ -0,0 +1,88 @@
+package com.google.inject.benchmarks;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.benchmarks.Fixtures.Clock;
+import com.google.inject.benchmarks.Fixtures.DefaultService;
+import com.google.inject.benchmarks.Fixtures.InMemoryRepository;
+import com.google.inject.benchmarks.Fixtures.Repository;
+import com.google.inject.benchmarks.Fixtures.Request;
+import com.google.inject.benchmarks.Fixtures.Service;
+import com.google.inject.benchmarks.Fixtures.SystemClock;
+import com.google.inject.matcher.Matchers;
+import com.google.inject.spi.ProvisionListener;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The cost of measuring provisions: none, the built-in {@code Binder.recordProvisionMetrics()},
+ * and a hand-written timing {@link ProvisionListener}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProvisionMetricsBenchmark {
+
+  /** How provisions are measured. */
+  public enum Measuring {
+    NONE,
+    PROVISION_METRICS,
+    TIMING_LISTENER
+  }
+
+  @Param
+  public Measuring measuring;
+
+  private Injector injector;
+
+  @Setup
+  public void setUp() {
+    injector =
+        Guice.createInjector(
+            new AbstractModule() {
+              @Override
+              protected void configure() {
+                bind(Repository.class).to(InMemoryRepository.class);
+                bind(Clock.class).to(SystemClock.class);
+                bind(Service.class).to(DefaultService.class);
+                if (measuring == Measuring.PROVISION_METRICS) {
+                  binder().recordProvisionMetrics();
+                } else if (measuring == Measuring.TIMING_LISTENER) {
+                  bindListener(Matchers.any(), new TimingListener());
+                }
+              }
+            });
+  }
+
+  @Benchmark
+  public Object unscopedGraph() {
+    return injector.getInstance(Request.class);
+  }
+
+  /** What applications write without built-in metrics. */
+  private static final class TimingListener implements ProvisionListener {
+    final LongAdder nanos = new LongAdder();
+
+    @Override
+    public <T> void onProvision(ProvisionInvocation<T> provision) {
+      long start = System.nanoTime();
+      provision.provision();
+      nanos.add(System.nanoTime() - start);
+    }
+  }
+}
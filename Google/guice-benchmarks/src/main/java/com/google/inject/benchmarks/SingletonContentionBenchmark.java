@@ -0,0 +1,111 @@
+package com.google.inject.benchmarks;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Inject;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.Singleton;
+import com.google.inject.name.Names;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * First-time {@code getInstance} of thousands of distinct lazy singletons from many threads at
+ * once. Each thread walks all the keys from a different starting point, so the threads create
+ * different singletons concurrently, then get (or wait for) the ones the others created. This is
+ * where the singleton creation locks used to serialize on one JVM-wide monitor. The injector is
+ * created outside the measured time.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SingletonContentionBenchmark {
+
+  private static final int SINGLETONS = 4096;
+
+  /** CPU work done by each singleton's constructor, in {@link Blackhole#consumeCPU} tokens. */
+  private static final long CONSTRUCTION_TOKENS = 50;
+
+  @Param({"1", "8", "32"})
+  public int threads;
+
+  private final List<Key<Lazy>> keys = new ArrayList<>(SINGLETONS);
+  private ExecutorService executor;
+  private Injector injector;
+
+  @Setup
+  public void setUp() {
+    for (int i = 0; i < SINGLETONS; i++) {
+      keys.add(Key.get(Lazy.class, Names.named("lazy" + i)));
+    }
+    executor = Executors.newFixedThreadPool(threads);
+  }
+
+  @Setup(Level.Invocation)
+  public void createInjector() {
+    injector =
+        Guice.createInjector(
+            new AbstractModule() {
+              @Override
+              protected void configure() {
+                for (Key<Lazy> key : keys) {
+                  bind(key).to(Lazy.class).in(Singleton.class);
+                }
+              }
+            });
+  }
+
+  @TearDown
+  public void tearDown() {
+    executor.shutdown();
+  }
+
+  @Benchmark
+  public void getAllSingletons(Blackhole blackhole)
+      throws ExecutionException, InterruptedException {
+    List<Future<?>> workers = new ArrayList<>(threads);
+    for (int t = 0; t < threads; t++) {
+      int offset = t * SINGLETONS / threads;
+      workers.add(
+          executor.submit(
+              () -> {
+                for (int i = 0; i < SINGLETONS; i++) {
+                  blackhole.consume(injector.getInstance(keys.get((offset + i) % SINGLETONS)));
+                }
+              }));
+    }
+    for (Future<?> worker : workers) {
+      worker.get();
+    }
+  }
+
+  static final class Lazy {
+    @Inject
+    Lazy() {
+      Blackhole.consumeCPU(CONSTRUCTION_TOKENS);
+    }
+  }
+}
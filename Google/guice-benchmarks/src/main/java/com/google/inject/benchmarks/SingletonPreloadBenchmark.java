@@ -0,0 +1,98 @@
+package com.google.inject.benchmarks;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Inject;
+import com.google.inject.Injector;
+import com.google.inject.Module;
+import com.google.inject.name.Names;
+import com.google.inject.util.Modules;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Creates an injector with eager singletons whose constructors do some work, loading them either on
+ * the creating thread or in parallel through {@code Binder.preloadSingletonsInParallel}. The
+ * parallel case also measures how well first-time singleton creation scales across threads, which
+ * is where the singleton locks used to serialize.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SingletonPreloadBenchmark {
+
+  private static final int SINGLETONS = 64;
+
+  /** CPU work done by each singleton's constructor, in {@link Blackhole#consumeCPU} tokens. */
+  private static final long CONSTRUCTION_TOKENS = 20_000;
+
+  /** How eager singletons are loaded. */
+  public enum Preloading {
+    SERIAL,
+    PARALLEL
+  }
+
+  @Param
+  public Preloading preloading;
+
+  private ExecutorService executor;
+  private Module module;
+
+  @Setup
+  public void setUp() {
+    Module singletons =
+        new AbstractModule() {
+          @Override
+          protected void configure() {
+            for (int i = 0; i < SINGLETONS; i++) {
+              bind(Warm.class)
+                  .annotatedWith(Names.named("warm" + i))
+                  .to(Warm.class)
+                  .asEagerSingleton();
+            }
+          }
+        };
+    if (preloading == Preloading.PARALLEL) {
+      executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+      module = Modules.combine(singletons, Modules.preloadSingletonsInParallelModule(executor));
+    } else {
+      module = singletons;
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    if (executor != null) {
+      executor.shutdown();
+    }
+  }
+
+  @Benchmark
+  public Injector createInjector() {
+    return Guice.createInjector(module);
+  }
+
+  static final class Warm {
+    @Inject
+    Warm() {
+      Blackhole.consumeCPU(CONSTRUCTION_TOKENS);
+    }
+  }
+}
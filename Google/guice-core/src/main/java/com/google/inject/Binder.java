@@ -28,6 +28,7 @@ import com.google.inject.spi.TypeConverter;
 import com.google.inject.spi.TypeListener;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
 import org.aopalliance.intercept.MethodInterceptor;
 
 /**
@@ -493,6 +494,66 @@ public interface Binder {
    */
   void disableCircularProxies();
 
+  /**
+   * Creates eager singletons (and, in {@link Stage#PRODUCTION}, all singletons) concurrently on
+   * {@code executor} when the injector is created. By default they are created one by one on the
+   * thread creating the injector.
+   *
+   * <p>Singletons are scheduled using the dependencies declared by their bindings, so a singleton is
+   * only started once the eager singletons it depends on have been created; singletons that depend
+   * on each other in a cycle are created serially. Errors are reported in the same order as they
+   * would be when created serially. Any executor can be used, including one that starts a virtual
+   * thread per task.
+   *
+   * <p>Child injectors and private modules use their parent's executor unless they declare their
+   * own.
+   *
+   * <p>Scheduling has a cost of its own, so this only pays off with more than one CPU and
+   * singletons that do real work. On a single CPU, {@code SingletonPreloadBenchmark} measured
+   * parallel preloading slower than serial (9.06 vs 5.99 ms); it has yet to be measured on a
+   * multi-core machine.
+   */
+  void preloadSingletonsInParallel(Executor executor);
+
+  /**
+   * Records how many times each binding of this injector is provisioned, and how long provisioning
+   * takes, in allocation-free histograms. Read them with {@link
+   * com.google.inject.spi.ProvisionMetrics#of}. By default nothing is recorded.
+   *
+   * <p>Only the outermost provision of each request is timed, along with every creation of a
+   * singleton or other scoped binding. Times include provisioning the binding's dependencies and
+   * running its provision listeners; the unscoped dependencies themselves are counted only when
+   * requested directly. Instance bindings are not recorded, as they are never provisioned.
+   *
+   * <p>Each injector records its own bindings, including the just-in-time bindings it creates, so
+   * per-request child injectors don't accumulate histograms in their parent and sibling private
+   * modules are recorded separately. Child injectors record whenever their parent does, and
+   * metrics read from a child include its ancestors' bindings and any keys exposed to it by
+   * private modules.
+   *
+   * <p>A timed provision costs two {@link System#nanoTime} calls and a histogram update on top of
+   * its usual work. On a single-CPU virtual machine, an unscoped object graph of a few bindings
+   * that takes around 190ns to provision took around 300ns with metrics recorded, against 660ns
+   * with a hand-written timing {@link com.google.inject.spi.ProvisionListener}. Recording metrics
+   * doesn't prevent dependencies from being constructed inline.
+   */
+  void recordProvisionMetrics();
+
+  /**
+   * Records where each binding and other element is declared as the class and method it was
+   * declared in, leaving out the file name and line number. Finding the line of every element is a
+   * noticeable share of creating injectors with thousands of bindings; this trades that cost for
+   * less precise error messages, which suits production boots.
+   *
+   * <p>Sources are captured while modules are configured, so this applies to the elements declared
+   * after it, in any module of the injector. Install it first, for example with {@link
+   * com.google.inject.util.Modules#recordSourceNamesOnlyModule()}. Has no effect when the {@code
+   * guice_include_stack_traces} flag is {@code OFF}, as no declaring lines are recorded then. When
+   * modules are configured in parallel, the modules after it that were already recorded without it
+   * are configured again, so the result is the same as configuring them one by one.
+   */
+  void recordSourceNamesOnly();
+
   /**
    * Requires that a {@literal @}{@link Inject} annotation exists on a constructor in order for
    * Guice to consider it an eligible injectable class. By default, Guice will inject classes that
@@ -18,8 +18,14 @@ package com.google.inject;
 
 import com.google.inject.spi.Element;
 import com.google.inject.gee.InjectionPoint;
+import com.google.inject.spi.Message;
 import com.google.inject.spi.TypeConverterBinding;
 import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -199,6 +205,81 @@ public interface Injector {
    */
   <T> T getInstance(Class<T> type);
 
+  /**
+   * Returns an instance for each distinct key of {@code keys}, in their order. Equivalent to
+   * calling {@link #getInstance(Key)} for each key, except that every key is resolved before any is
+   * provisioned, so that all missing bindings are reported together, and that the instances are
+   * provisioned in one batch (see {@link KeySet}). When the same keys are needed repeatedly,
+   * resolve them once with {@link #getKeySet}.
+   *
+   * <p>The returned map is immutable but may contain null values. The default implementation
+   * provisions the instances of {@link #getKeySet}.
+   *
+   * @throws ConfigurationException if this injector cannot find or create the provider of one or
+   *     more keys.
+   * @throws ProvisionException if there was a runtime failure while providing an instance.
+   */
+  default Map<Key<?>, Object> getInstances(Iterable<? extends Key<?>> keys) {
+    Set<Key<?>> distinctKeys = new LinkedHashSet<>();
+    keys.forEach(distinctKeys::add);
+    KeySet keySet = getKeySet(distinctKeys);
+    List<Object> instances = keySet.getInstances();
+    Map<Key<?>, Object> result = new LinkedHashMap<>();
+    for (int i = 0; i < instances.size(); i++) {
+      result.put(keySet.getKeys().get(i), instances.get(i));
+    }
+    return Collections.unmodifiableMap(result);
+  }
+
+  /**
+   * Resolves the given keys into a {@link KeySet} that provisions their instances in one batch.
+   * Duplicate keys are provisioned once for each occurrence.
+   *
+   * <p>The default implementation looks up the {@link #getProvider(Key) provider} of each key and
+   * returns a key set that calls them one by one; injectors created by Guice provision the keys in
+   * one batch instead.
+   *
+   * @throws ConfigurationException if this injector cannot find or create the provider of one or
+   *     more keys.
+   */
+  default KeySet getKeySet(Iterable<? extends Key<?>> keys) {
+    List<Key<?>> keyList = new ArrayList<>();
+    List<Provider<?>> providers = new ArrayList<>();
+    List<Message> errors = new ArrayList<>();
+    for (Key<?> key : keys) {
+      keyList.add(key);
+      try {
+        providers.add(getProvider(key));
+      } catch (ConfigurationException e) {
+        errors.addAll(e.getErrorMessages()); // keep resolving, to report every key at once
+      }
+    }
+    if (!errors.isEmpty()) {
+      throw new ConfigurationException(errors);
+    }
+    List<Key<?>> resolvedKeys = Collections.unmodifiableList(keyList);
+    return new KeySet() {
+      @Override
+      public List<Key<?>> getKeys() {
+        return resolvedKeys;
+      }
+
+      @Override
+      public List<Object> getInstances() {
+        Object[] instances = new Object[providers.size()];
+        for (int i = 0; i < instances.length; i++) {
+          instances[i] = providers.get(i).get();
+        }
+        return Collections.unmodifiableList(Arrays.asList(instances));
+      }
+
+      @Override
+      public String toString() {
+        return "KeySet" + resolvedKeys;
+      }
+    };
+  }
+
   /**
    * Returns this injector's parent, or {@code null} if this is a top-level injector.
    *
@@ -0,0 +1,32 @@
+package com.google.inject;
+
+import java.util.List;
+
+/**
+ * A list of keys resolved against an injector once, so that instances of all of them can be
+ * provisioned together as often as needed. Obtain one from {@link Injector#getKeySet}:
+ *
+ * <pre>
+ * KeySet requestScoped = injector.getKeySet(List.of(Key.get(Session.class), Key.get(Auth.class)));
+ * ...
+ * List&lt;Object&gt; instances = requestScoped.getInstances();
+ * </pre>
+ *
+ * <p>Provisioning a key set is equivalent to calling {@link Provider#get} on the provider of each
+ * key in turn. The key sets of injectors created by Guice enter the injector only once, so that
+ * dependencies shared by several keys see the same construction state, and do no binding lookups.
+ */
+public interface KeySet {
+
+  /** Returns the keys of this set, in the order their instances are provisioned. */
+  List<Key<?>> getKeys();
+
+  /**
+   * Provisions an instance for each key, in the order of {@link #getKeys}, and returns them in that
+   * order. The returned list is immutable but may contain nulls.
+   *
+   * @throws ProvisionException if there was a runtime failure while providing an instance. No
+   *     further keys are provisioned.
+   */
+  List<Object> getInstances();
+}
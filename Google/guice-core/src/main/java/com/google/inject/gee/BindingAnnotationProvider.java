@@ -1,11 +1,7 @@
 package com.google.inject.gee;
 
-import com.google.inject.BindingAnnotation;
-
 import java.lang.annotation.Annotation;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.ServiceLoader;
 
 public interface BindingAnnotationProvider
 {
@@ -13,13 +9,6 @@ public interface BindingAnnotationProvider
 
     static List<Class<? extends Annotation>> getAllBindingAnnotations()
     {
-        List<Class<? extends Annotation>> out = new ArrayList<>();
-        out.add(BindingAnnotation.class);
-        ServiceLoader<BindingAnnotationProvider> loader = ServiceLoader.load(BindingAnnotationProvider.class);
-        for (BindingAnnotationProvider bindingAnnotationProvider : loader)
-        {
-            out.addAll(bindingAnnotationProvider.getBindingAnnotations());
-        }
-        return out;
+        return GeeProviderRegistry.get().getBindingAnnotations();
     }
 }
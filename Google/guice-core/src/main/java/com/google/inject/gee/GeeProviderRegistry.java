@@ -0,0 +1,194 @@
+package com.google.inject.gee;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableList;
+import com.google.inject.BindingAnnotation;
+import com.google.inject.ScopeAnnotation;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.util.Map;
+import java.util.Optional;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An immutable snapshot of every {@code com.google.inject.gee} SPI implementation visible to a
+ * class loader or module layer.
+ *
+ * <p>Guice consults these SPIs on hot paths ({@code Key} construction, injection point scanning),
+ * so the providers are resolved with {@link ServiceLoader} once per class loader or layer and
+ * shared afterwards. A registry holds providers loaded by its class loader or layer, so it is only
+ * softly referenced: otherwise it would keep its own key reachable, and discarded class loaders
+ * would never be collected. Hot-reload environments that add or remove providers at runtime must
+ * call {@link #refresh()} (or {@link #refresh(ClassLoader)}) so the next lookup rescans.
+ */
+public final class GeeProviderRegistry
+{
+    private static final LoadingCache<ClassLoader, GeeProviderRegistry> BY_CLASS_LOADER =
+            CacheBuilder.newBuilder()
+                        .weakKeys()
+                        .softValues()
+                        .build(CacheLoader.from(GeeProviderRegistry::loadFrom));
+
+    private static final LoadingCache<ModuleLayer, GeeProviderRegistry> BY_LAYER =
+            CacheBuilder.newBuilder()
+                        .weakKeys()
+                        .softValues()
+                        .build(CacheLoader.from(GeeProviderRegistry::loadFrom));
+
+    private final ImmutableList<InjectionPointProvider> injectionPointProviders;
+    private final ImmutableList<InjectorAnnotationsProvider> injectorAnnotationsProviders;
+    private final ImmutableList<NamedAnnotationProvider> namedAnnotationProviders;
+    private final ImmutableList<BindScopeProvider> bindScopeProviders;
+    private final ImmutableList<Class<? extends Annotation>> scopeAnnotations;
+    private final ImmutableList<Class<? extends Annotation>> bindingAnnotations;
+
+    /**
+     * The injection annotation each member of a class resolved to with these providers. Held by the
+     * class itself, so that it goes away with either the class or this registry.
+     */
+    private final ClassValue<Map<AnnotatedElement, Optional<Annotation>>> resolvedAtInject =
+            new ClassValue<Map<AnnotatedElement, Optional<Annotation>>>()
+            {
+                @Override
+                protected Map<AnnotatedElement, Optional<Annotation>> computeValue(Class<?> declaringClass)
+                {
+                    return new ConcurrentHashMap<>();
+                }
+            };
+
+    private GeeProviderRegistry(ImmutableList<InjectionPointProvider> injectionPointProviders,
+                                ImmutableList<InjectorAnnotationsProvider> injectorAnnotationsProviders,
+                                ImmutableList<NamedAnnotationProvider> namedAnnotationProviders,
+                                ImmutableList<BindScopeProvider> bindScopeProviders,
+                                Iterable<ScopeAnnotationProvider> scopeAnnotationProviders,
+                                Iterable<BindingAnnotationProvider> bindingAnnotationProviders)
+    {
+        this.injectionPointProviders = injectionPointProviders;
+        this.injectorAnnotationsProviders = injectorAnnotationsProviders;
+        this.namedAnnotationProviders = namedAnnotationProviders;
+        this.bindScopeProviders = bindScopeProviders;
+
+        ImmutableList.Builder<Class<? extends Annotation>> scopes = ImmutableList.builder();
+        scopes.add(ScopeAnnotation.class);
+        for (ScopeAnnotationProvider scopeAnnotationProvider : scopeAnnotationProviders)
+        {
+            scopes.addAll(scopeAnnotationProvider.getScopeAnnotations());
+        }
+        this.scopeAnnotations = scopes.build();
+
+        ImmutableList.Builder<Class<? extends Annotation>> bindings = ImmutableList.builder();
+        bindings.add(BindingAnnotation.class);
+        for (BindingAnnotationProvider bindingAnnotationProvider : bindingAnnotationProviders)
+        {
+            bindings.addAll(bindingAnnotationProvider.getBindingAnnotations());
+        }
+        this.bindingAnnotations = bindings.build();
+    }
+
+    private static GeeProviderRegistry loadFrom(ClassLoader classLoader)
+    {
+        return new GeeProviderRegistry(
+                ImmutableList.copyOf(ServiceLoader.load(InjectionPointProvider.class, classLoader)),
+                ImmutableList.copyOf(ServiceLoader.load(InjectorAnnotationsProvider.class, classLoader)),
+                ImmutableList.copyOf(ServiceLoader.load(NamedAnnotationProvider.class, classLoader)),
+                ImmutableList.copyOf(ServiceLoader.load(BindScopeProvider.class, classLoader)),
+                ServiceLoader.load(ScopeAnnotationProvider.class, classLoader),
+                ServiceLoader.load(BindingAnnotationProvider.class, classLoader));
+    }
+
+    private static GeeProviderRegistry loadFrom(ModuleLayer layer)
+    {
+        return new GeeProviderRegistry(
+                ImmutableList.copyOf(ServiceLoader.load(layer, InjectionPointProvider.class)),
+                ImmutableList.copyOf(ServiceLoader.load(layer, InjectorAnnotationsProvider.class)),
+                ImmutableList.copyOf(ServiceLoader.load(layer, NamedAnnotationProvider.class)),
+                ImmutableList.copyOf(ServiceLoader.load(layer, BindScopeProvider.class)),
+                ServiceLoader.load(layer, ScopeAnnotationProvider.class),
+                ServiceLoader.load(layer, BindingAnnotationProvider.class));
+    }
+
+    /**
+     * Returns the registry for the current thread's context class loader, which is the class loader
+     * {@link ServiceLoader#load(Class)} would have used.
+     */
+    public static GeeProviderRegistry get()
+    {
+        return forClassLoader(Thread.currentThread().getContextClassLoader());
+    }
+
+    /** Returns the registry for {@code classLoader}, resolving its providers on first use. */
+    public static GeeProviderRegistry forClassLoader(ClassLoader classLoader)
+    {
+        return BY_CLASS_LOADER.getUnchecked(classLoader == null ? ClassLoader.getSystemClassLoader() : classLoader);
+    }
+
+    /** Returns the registry for the modules in {@code layer} and its parents. */
+    public static GeeProviderRegistry forLayer(ModuleLayer layer)
+    {
+        return BY_LAYER.getUnchecked(layer);
+    }
+
+    /** Discards every resolved registry so that providers are rescanned on the next lookup. */
+    public static void refresh()
+    {
+        BY_CLASS_LOADER.invalidateAll();
+        BY_LAYER.invalidateAll();
+    }
+
+    /** Discards the registry resolved for {@code classLoader}, if any. */
+    public static void refresh(ClassLoader classLoader)
+    {
+        BY_CLASS_LOADER.invalidate(classLoader == null ? ClassLoader.getSystemClassLoader() : classLoader);
+    }
+
+    /** Discards the registry resolved for {@code layer}, if any. */
+    public static void refresh(ModuleLayer layer)
+    {
+        BY_LAYER.invalidate(layer);
+    }
+
+    public ImmutableList<InjectionPointProvider> getInjectionPointProviders()
+    {
+        return injectionPointProviders;
+    }
+
+    public ImmutableList<InjectorAnnotationsProvider> getInjectorAnnotationsProviders()
+    {
+        return injectorAnnotationsProviders;
+    }
+
+    public ImmutableList<NamedAnnotationProvider> getNamedAnnotationProviders()
+    {
+        return namedAnnotationProviders;
+    }
+
+    public ImmutableList<BindScopeProvider> getBindScopeProviders()
+    {
+        return bindScopeProviders;
+    }
+
+    /**
+     * Returns the injection annotations already resolved with these providers for the members of
+     * {@code declaringClass}, absent annotations as {@link Optional#empty()}.
+     */
+    Map<AnnotatedElement, Optional<Annotation>> getResolvedAtInject(Class<?> declaringClass)
+    {
+        return resolvedAtInject.get(declaringClass);
+    }
+
+    /** Returns {@link ScopeAnnotation} followed by every annotation contributed by a {@link ScopeAnnotationProvider}. */
+    public ImmutableList<Class<? extends Annotation>> getScopeAnnotations()
+    {
+        return scopeAnnotations;
+    }
+
+    /** Returns {@link BindingAnnotation} followed by every annotation contributed by a {@link BindingAnnotationProvider}. */
+    public ImmutableList<Class<? extends Annotation>> getBindingAnnotations()
+    {
+        return bindingAnnotations;
+    }
+}
@@ -28,6 +28,7 @@ import com.google.inject.internal.Annotations;
 import com.google.inject.internal.DeclaredMembers;
 import com.google.inject.internal.Errors;
 import com.google.inject.internal.ErrorsException;
+import com.google.inject.internal.InjectionIndex;
 import com.google.inject.internal.KotlinSupport;
 import com.google.inject.internal.Nullability;
 import com.google.inject.internal.util.Classes;
@@ -537,35 +538,78 @@ public final class InjectionPoint {
     }
   }
 
+  /** Shared {@link Inject} adapters per alternative injection annotation: required, optional. */
+  private static final ClassValue<Inject[]> INJECT_ADAPTERS =
+      new ClassValue<Inject[]>() {
+        @Override
+        protected Inject[] computeValue(Class<?> annotationType) {
+          @SuppressWarnings("unchecked")
+          Class<? extends Annotation> type = (Class<? extends Annotation>) annotationType;
+          return new Inject[] {new InjectAdapter(type, false), new InjectAdapter(type, true)};
+        }
+      };
+
+  /** Presents an alternative injection annotation (such as JSR-330's) as Guice's {@link Inject}. */
+  private static final class InjectAdapter implements Inject {
+    private final Class<? extends Annotation> annotationType;
+    private final boolean optional;
+
+    InjectAdapter(Class<? extends Annotation> annotationType, boolean optional) {
+      this.annotationType = annotationType;
+      this.optional = optional;
+    }
+
+    @Override
+    public Class<? extends Annotation> annotationType() {
+      return annotationType;
+    }
+
+    @Override
+    public boolean optional() {
+      return optional;
+    }
+
+    @Override
+    public String toString() {
+      return "@" + annotationType.getName() + "(optional=" + optional + ")";
+    }
+  }
+
   static Annotation getAtInject(AnnotatedElement member) {
+    if (!(member instanceof Member)) {
+      return resolveAtInject(member);
+    }
+    Class<?> declaringClass = ((Member) member).getDeclaringClass();
+    InjectionIndex index = InjectionIndex.forClass(declaringClass);
+    if (index != null && !index.mayBeAnnotated((Member) member)) {
+      return null;
+    }
+    // resolve with the registry the cache belongs to, so that results are never stored under
+    // another registry when providers are refreshed or another class loader is in use
+    GeeProviderRegistry registry = GeeProviderRegistry.get();
+    Map<AnnotatedElement, Optional<Annotation>> resolved =
+        registry.getResolvedAtInject(declaringClass);
+    Optional<Annotation> atInject = resolved.get(member);
+    if (atInject == null) {
+      atInject = Optional.ofNullable(resolveAtInject(member, registry));
+      resolved.putIfAbsent(member, atInject);
+    }
+    return atInject.orElse(null);
+  }
+
+  private static Annotation resolveAtInject(AnnotatedElement member) {
+    return resolveAtInject(member, GeeProviderRegistry.get());
+  }
+
+  private static Annotation resolveAtInject(AnnotatedElement member, GeeProviderRegistry registry) {
     Annotation a = member.getAnnotation(Inject.class);
     //#GedMarc update to allow alternative injection pointers
-    if(a == null) {
-      List<Class<? extends Annotation>> annotations = new ArrayList<>();
-      ServiceLoader<InjectionPointProvider> load = ServiceLoader.load(InjectionPointProvider.class);
-      load.forEach(iPoint -> {
-        Class<? extends Annotation> ip = iPoint.injectionPoint(member);
-        if (ip != null) {
-          annotations.add(ip);
-        }
-      });
-      for (Class<? extends Annotation> annotation : annotations) {
-          //noinspection ConstantValue
-          if (a == null) {
-         a= member.getAnnotation(annotation);
-          if (a != null) {
-            a = new Inject(){
-              @Override
-              public Class<? extends Annotation> annotationType() {
-                return annotation;
-              }
-              @Override
-              public boolean optional() {
-                return member.isAnnotationPresent(Nullable.class);
-              }
-            };
-            break;
-          }
+    if (a == null) {
+      for (InjectionPointProvider iPoint : registry.getInjectionPointProviders()) {
+        Class<? extends Annotation> annotation = iPoint.injectionPoint(member);
+        if (annotation != null && member.isAnnotationPresent(annotation)) {
+          boolean optional = member.isAnnotationPresent(Nullable.class);
+          return INJECT_ADAPTERS.get(annotation)[optional ? 1 : 0];
         }
       }
     }
@@ -746,8 +790,14 @@ public final class InjectionPoint {
       }
 
       TypeLiteral<?> current = hierarchy.get(i);
-
-      for (Field field : getDeclaredFields(current)) {
+      // a build-time index lets us skip members (or whole classes) without any annotations.
+      // methods are still needed when they might override an injectable method further up.
+      InjectionIndex index = InjectionIndex.forClass(current.getRawType());
+      boolean scanFields = index == null || index.hasAnnotatedFields();
+      boolean scanMethods =
+          index == null || index.hasAnnotatedMethods() || (!statics && overrideIndex != null);
+
+      for (Field field : scanFields ? getDeclaredFields(current) : NO_FIELDS) {
         if (Modifier.isStatic(field.getModifiers()) == statics) {
           Annotation atInject = getAtInject(field);
           if (atInject != null) {
@@ -760,7 +810,7 @@ public final class InjectionPoint {
         }
       }
 
-      for (Method method : getDeclaredMethods(current)) {
+      for (Method method : scanMethods ? getDeclaredMethods(current) : NO_METHODS) {
         if (isEligibleForInjection(method, statics)) {
           Annotation atInject = getAtInject(method);
           if (atInject != null) {
@@ -836,6 +886,9 @@ public final class InjectionPoint {
     return builder.build();
   }
 
+  private static final Field[] NO_FIELDS = new Field[0];
+  private static final Method[] NO_METHODS = new Method[0];
+
   private static Field[] getDeclaredFields(TypeLiteral<?> type) {
     return DeclaredMembers.getDeclaredFields(type.getRawType());
   }
@@ -2,8 +2,6 @@ package com.google.inject.gee;
 
 import com.google.inject.Inject;
 
-import java.util.ServiceLoader;
-
 public interface InjectorAnnotationsProvider
 {
     boolean isInjectorAnnotation(Class<? extends java.lang.annotation.Annotation> annotationType);
@@ -12,8 +10,7 @@ public interface InjectorAnnotationsProvider
     {
         if(annotationType.equals(Inject.class))
             return true;
-        ServiceLoader<InjectorAnnotationsProvider> loader = ServiceLoader.load(InjectorAnnotationsProvider.class);
-        for (var annotationsProvider : loader)
+        for (var annotationsProvider : GeeProviderRegistry.get().getInjectorAnnotationsProviders())
         {
             boolean is = annotationsProvider.isInjectorAnnotation(annotationType);
             if(is)
@@ -30,9 +30,8 @@ import com.google.inject.BindingAnnotation;
 import com.google.inject.Key;
 import com.google.inject.ScopeAnnotation;
 import com.google.inject.TypeLiteral;
-import com.google.inject.gee.BindingAnnotationProvider;
+import com.google.inject.gee.GeeProviderRegistry;
 import com.google.inject.gee.NamedAnnotationProvider;
-import com.google.inject.gee.ScopeAnnotationProvider;
 import com.google.inject.internal.util.Classes;
 import com.google.inject.name.Named;
 import com.google.inject.name.Names;
@@ -46,7 +45,6 @@ import java.lang.reflect.Proxy;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Map;
-import java.util.ServiceLoader;
 
 /**
  * Annotation utilities.
@@ -347,11 +345,16 @@ public class Annotations {
     }
   }
 
-  private static final AnnotationChecker scopeChecker =
-      new AnnotationChecker(ScopeAnnotationProvider.getAllScopeAnnotations());
+  /** Scope checkers per provider registry, so a {@link GeeProviderRegistry#refresh} is honoured. */
+  private static final LoadingCache<GeeProviderRegistry, AnnotationChecker> scopeCheckers =
+      CacheBuilder.newBuilder()
+          .weakKeys()
+          .build(
+              CacheLoader.from(
+                  registry -> new AnnotationChecker(registry.getScopeAnnotations())));
 
   public static boolean isScopeAnnotation(Class<? extends Annotation> annotationType) {
-    return scopeChecker.hasAnnotations(annotationType);
+    return scopeCheckers.getUnchecked(GeeProviderRegistry.get()).hasAnnotations(annotationType);
   }
 
   /**
@@ -404,12 +407,20 @@ public class Annotations {
     return found;
   }
 
-  private static final AnnotationChecker bindingAnnotationChecker =
-      new AnnotationChecker(BindingAnnotationProvider.getAllBindingAnnotations());
+  /** Binding annotation checkers per provider registry. */
+  private static final LoadingCache<GeeProviderRegistry, AnnotationChecker>
+      bindingAnnotationCheckers =
+          CacheBuilder.newBuilder()
+              .weakKeys()
+              .build(
+                  CacheLoader.from(
+                      registry -> new AnnotationChecker(registry.getBindingAnnotations())));
 
   /** Returns true if annotations of the specified type are binding annotations. */
   public static boolean isBindingAnnotation(Class<? extends Annotation> annotationType) {
-    return bindingAnnotationChecker.hasAnnotations(annotationType);
+    return bindingAnnotationCheckers
+        .getUnchecked(GeeProviderRegistry.get())
+        .hasAnnotations(annotationType);
   }
 
   /**
@@ -417,8 +428,8 @@ public class Annotations {
    * com.google.guice.name.Named. Returns the given annotation otherwise.
    */
   public static Annotation canonicalizeIfNamed(Annotation annotation) {
-    ServiceLoader<NamedAnnotationProvider> namedAnnotationProviders = ServiceLoader.load(NamedAnnotationProvider.class);
-    for (NamedAnnotationProvider namedAnnotationProvider : namedAnnotationProviders)
+    for (NamedAnnotationProvider namedAnnotationProvider :
+        GeeProviderRegistry.get().getNamedAnnotationProviders())
     {
       var o = namedAnnotationProvider.getNamedAnnotation(annotation);
       if (o != null)
@@ -436,8 +447,8 @@ public class Annotations {
    */
   public static Class<? extends Annotation> canonicalizeIfNamed(
       Class<? extends Annotation> annotationType) {
-    ServiceLoader<NamedAnnotationProvider> namedAnnotationProviders = ServiceLoader.load(NamedAnnotationProvider.class);
-    for (NamedAnnotationProvider namedAnnotationProvider : namedAnnotationProviders)
+    for (NamedAnnotationProvider namedAnnotationProvider :
+        GeeProviderRegistry.get().getNamedAnnotationProviders())
     {
       var o = namedAnnotationProvider.getNamedAnnotation(annotationType);
       if (o != null)
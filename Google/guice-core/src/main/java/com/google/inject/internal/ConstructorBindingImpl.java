@@ -153,6 +153,42 @@ final class ConstructorBindingImpl<T> extends BindingImpl<T>
     factory.provisionCallback = injector.provisionListenerStore.get(this);
   }
 
+  /** Compiles the provisioning plan for this binding's constructor, if it's been initialized. */
+  void compileProvisionPlan() {
+    ConstructorInjector<T> localInjector = factory.constructorInjector;
+    if (localInjector != null) {
+      localInjector.compilePlan();
+    }
+  }
+
+  /**
+   * Returns the constructor injector behind {@code factory} if it's the unscoped factory of a
+   * constructor binding, or null otherwise.
+   */
+  static ConstructorInjector<?> getConstructorInjector(InternalFactory<?> factory) {
+    return factory instanceof Factory ? ((Factory<?>) factory).constructorInjector : null;
+  }
+
+  /**
+   * Returns the constructor injector behind {@code factory} if a provisioning plan may construct
+   * directly instead of calling the factory: it must be an initialized constructor binding's
+   * unscoped factory with no provision listeners, and be usable for a {@code linked} request. A
+   * factory whose callback only records provision metrics qualifies: a plan only inlines
+   * dependencies, and those are never timed apart from the provision that needs them.
+   */
+  static ConstructorInjector<?> getInlinableInjector(InternalFactory<?> factory, boolean linked) {
+    if (!(factory instanceof Factory)) {
+      return null;
+    }
+    Factory<?> constructorFactory = (Factory<?>) factory;
+    if ((constructorFactory.provisionCallback != null
+            && constructorFactory.provisionCallback.hasListeners())
+        || (!linked && constructorFactory.failIfNotLinked)) {
+      return null;
+    }
+    return constructorFactory.constructorInjector;
+  }
+
   /** True if this binding has been initialized and is ready for use. */
   boolean isInitialized() {
     return factory.constructorInjector != null;
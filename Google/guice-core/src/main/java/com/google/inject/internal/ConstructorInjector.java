@@ -20,6 +20,7 @@ import com.google.common.collect.ImmutableSet;
 import com.google.inject.internal.ProvisionListenerStackCallback.ProvisionCallback;
 import com.google.inject.spi.Dependency;
 import com.google.inject.gee.InjectionPoint;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.InvocationTargetException;
 import java.util.Set;
 import org.jetbrains.annotations.Nullable;
@@ -37,6 +38,12 @@ final class ConstructorInjector<T> {
   private final ConstructionProxy<T> constructionProxy;
   private final MembersInjectorImpl<T> membersInjector;
 
+  /**
+   * The compiled plan for resolving parameters and constructing, {@link ProvisionPlans#NO_PLAN} if
+   * there isn't one, or null if not compiled yet.
+   */
+  private MethodHandle plan;
+
   ConstructorInjector(
       Set<InjectionPoint> injectableMembers,
       ConstructionProxy<T> constructionProxy,
@@ -56,6 +63,27 @@ final class ConstructorInjector<T> {
     return constructionProxy;
   }
 
+  SingleParameterInjector<?>[] getParameterInjectors() {
+    return parameterInjectors;
+  }
+
+  MembersInjectorImpl<T> getMembersInjector() {
+    return membersInjector;
+  }
+
+  /**
+   * Compiles the provisioning plan for this constructor if that hasn't happened yet. Plans are
+   * immutable, so racing threads at worst compile the same plan twice.
+   */
+  MethodHandle compilePlan() {
+    MethodHandle localPlan = plan;
+    if (localPlan == null) {
+      localPlan = ProvisionPlans.compile(this);
+      plan = localPlan;
+    }
+    return localPlan;
+  }
+
   /**
    * Construct an instance. Returns {@code Object} instead of {@code T} because it may return a
    * proxy.
@@ -110,8 +138,7 @@ final class ConstructorInjector<T> {
     try {
       T t;
       try {
-        Object[] parameters = SingleParameterInjector.getAll(context, parameterInjectors);
-        t = constructionProxy.newInstance(parameters);
+        t = newInstance(context);
         constructionContext.setProxyDelegates(t);
       } finally {
         constructionContext.finishConstruction();
@@ -133,4 +160,22 @@ final class ConstructorInjector<T> {
       constructionContext.removeCurrentReference();
     }
   }
+
+  /** Resolves the parameters and invokes the constructor, using the compiled plan if possible. */
+  @SuppressWarnings("unchecked")
+  private T newInstance(InternalContext context)
+      throws InternalProvisionException, InvocationTargetException {
+    MethodHandle localPlan = compilePlan();
+    if (localPlan != ProvisionPlans.NO_PLAN) {
+      try {
+        return (T) (Object) localPlan.invokeExact(context);
+      } catch (InternalProvisionException | RuntimeException | Error e) {
+        throw e;
+      } catch (Throwable t) {
+        throw new AssertionError(t); // plans only throw what factories and constructors do
+      }
+    }
+    Object[] parameters = SingleParameterInjector.getAll(context, parameterInjectors);
+    return constructionProxy.newInstance(parameters);
+  }
 }
@@ -16,6 +16,7 @@
 
 package com.google.inject.internal;
 
+import com.google.common.cache.CacheStats;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import com.google.inject.gee.InjectionPoint;
@@ -38,6 +39,9 @@ final class ConstructorInjectorStore {
         }
       };
 
+  /** The injector's interceptor bindings, indexed once they're all known. */
+  private volatile InterceptorIndex interceptorIndex;
+
   ConstructorInjectorStore(InjectorImpl injector) {
     this.injector = injector;
   }
@@ -66,6 +70,11 @@ final class ConstructorInjectorStore {
     return cache.remove(ip);
   }
 
+  /** Returns the hit, miss and load time statistics of the cache. */
+  CacheStats stats() {
+    return cache.stats();
+  }
+
   private <T> ConstructorInjector<T> createConstructor(InjectionPoint injectionPoint, Errors errors)
       throws ErrorsException {
     int numErrorsBefore = errors.size();
@@ -79,14 +88,7 @@ final class ConstructorInjectorStore {
             injector.membersInjectorStore.get(injectionPoint.getDeclaringType(), errors);
     ConstructionProxyFactory<T> factory = null;
     if (InternalFlags.isBytecodeGenEnabled()) {
-      ImmutableList<InterceptorBinding> injectorBindings =
-          injector.getBindingData().getInterceptorBindings();
-      ImmutableList<MethodAspect> methodAspects =
-          ImmutableList.<MethodAspect>builder()
-              .addAll(Lists.transform(injectorBindings, MethodAspect::fromBinding))
-              .addAll(membersInjector.getAddedAspects())
-              .build();
-      factory = new ProxyFactory<>(injectionPoint, methodAspects);
+      factory = new ProxyFactory<>(injectionPoint, interceptorIndex(membersInjector));
     } else {
       factory = new DefaultConstructionProxyFactory<>(injectionPoint);
     }
@@ -99,4 +101,32 @@ final class ConstructorInjectorStore {
         constructorParameterInjectors,
         membersInjector);
   }
+
+  /**
+   * Returns the index of the injector's interceptor bindings, with the aspects added by type
+   * listeners for the constructed type if there are any.
+   */
+  private InterceptorIndex interceptorIndex(MembersInjectorImpl<?> membersInjector) {
+    ImmutableList<InterceptorBinding> injectorBindings =
+        injector.getBindingData().getInterceptorBindings();
+    ImmutableList<MethodAspect> addedAspects = membersInjector.getAddedAspects();
+    if (!addedAspects.isEmpty()) {
+      return new InterceptorIndex(
+          ImmutableList.<MethodAspect>builder()
+              .addAll(Lists.transform(injectorBindings, MethodAspect::fromBinding))
+              .addAll(addedAspects)
+              .build());
+    }
+    InterceptorIndex local = interceptorIndex;
+    // constructors can be created while the bindings are still being processed, so the index is
+    // rebuilt whenever it's out of date
+    if (local == null || local.size() != injectorBindings.size()) {
+      local =
+          injectorBindings.isEmpty()
+              ? InterceptorIndex.EMPTY
+              : new InterceptorIndex(Lists.transform(injectorBindings, MethodAspect::fromBinding));
+      interceptorIndex = local;
+    }
+    return local;
+  }
 }
@@ -2,13 +2,14 @@ package com.google.inject.internal;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableListMultimap;
-import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Maps;
-import com.google.common.collect.Multimap;
 import com.google.common.collect.MultimapBuilder;
 import java.util.Collection;
+import java.util.Deque;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -37,8 +38,9 @@ interface CycleDetectingLock<ID> {
    * the last lock in the list is the one that the thread is currently waiting for. Returned map is
    * created atomically.
    *
-   * <p>In case no cycle is detected performance is O(threads creating singletons), in case cycle is
-   * detected performance is O(singleton locks).
+   * <p>An uncontended lock is taken in O(1) without any shared synchronization. Otherwise, in case
+   * no cycle is detected performance is O(threads creating singletons), in case cycle is detected
+   * performance is O(singleton locks).
    */
   ListMultimap<Thread, ID> lockOrDetectPotentialLocksCycle();
 
@@ -46,9 +48,16 @@ interface CycleDetectingLock<ID> {
   void unlock();
 
   /**
-   * Wraps locks so they would never cause a deadlock. On each {@link
-   * CycleDetectingLock#lockOrDetectPotentialLocksCycle} we check for dependency cycles within locks
-   * created by the same factory. Either we detect a cycle and return it or take it atomically.
+   * Wraps locks so they would never cause a deadlock. Whenever {@link
+   * CycleDetectingLock#lockOrDetectPotentialLocksCycle} would have to wait we check for dependency
+   * cycles within locks created by the same factory. Either we detect a cycle and return it or take
+   * it atomically.
+   *
+   * <p>Uncontended locks are taken and released without any shared synchronization, so independent
+   * singletons are created in parallel. Only threads that actually have to wait serialize on
+   * {@link #detectionLock} to register themselves and look for cycles. The detection lock is a
+   * {@link ReentrantLock} rather than a monitor, and no thread ever waits while holding it, so
+   * virtual threads waiting for a singleton do not pin their carrier threads.
    *
    * <p>Important to note that we do not prevent deadlocks in the client code. As an example: Thread
    * A takes lock L and creates singleton class CA depending on the singleton class CB. Meanwhile
@@ -60,6 +69,12 @@ interface CycleDetectingLock<ID> {
    */
   class CycleDetectingLockFactory<ID> {
 
+    /**
+     * Serializes threads that are about to wait on a lock: registering in {@link
+     * #lockThreadIsWaitingOn}, detecting cycles, and turning a waiting thread into an owner.
+     */
+    private static final ReentrantLock detectionLock = new ReentrantLock();
+
     /**
      * Specifies lock that thread is currently waiting on to own it. Used only for purposes of locks
      * cycle detection.
@@ -71,35 +86,31 @@ interface CycleDetectingLock<ID> {
      *
      * <p>Element is added inside {@link #lockOrDetectPotentialLocksCycle()} before {@link
      * Lock#lock} is called. Element is removed inside {@link #lockOrDetectPotentialLocksCycle()}
-     * after {@link Lock#lock} and synchronously with adding it to {@link #locksOwnedByThread}.
+     * after {@link Lock#lock} and synchronously with the thread becoming the lock's owner.
      *
      * <p>Same lock can be added for several threads in case all of them are trying to take it.
      *
-     * <p>Guarded by {@code CycleDetectingLockFactory.class}.
+     * <p>Guarded by {@link #detectionLock}.
      */
-    private static Map<Thread, ReentrantCycleDetectingLock<?>> lockThreadIsWaitingOn =
+    private static final Map<Thread, ReentrantCycleDetectingLock<?>> lockThreadIsWaitingOn =
         Maps.newHashMap();
 
     /**
-     * Lists locks that thread owns. Used only to populate locks in a potential cycle when it is
-     * detected.
+     * Lists locks that thread owns, in the order they were taken. Used only to populate locks in a
+     * potential cycle when it is detected.
      *
      * <ul>
      *   <li>Key: thread
-     *   <li>Value: stack of locks that were owned.
+     *   <li>Value: locks that are owned.
      * </ul>
      *
-     * <p>Element is added inside {@link #lockOrDetectPotentialLocksCycle()} after {@link Lock#lock}
-     * is called. Element is removed inside {@link #unlock()} synchronously with {@link
-     * Lock#unlock()} call.
-     *
-     * <p>Same lock can only be present several times for the same thread as locks are reentrant.
-     * Lock can not be owned by several different threads as the same time.
-     *
-     * <p>Guarded by {@code CycleDetectingLockFactory.class}.
+     * <p>A thread's entry is only ever modified by that thread, and is removed once it owns no
+     * locks. Detecting threads may read a stale view, which never leads to a false cycle: a thread
+     * only becomes part of a cycle by waiting, and it registers as waiting (under {@link
+     * #detectionLock}) after publishing every change to the locks it owns.
      */
-    private static final Multimap<Thread, ReentrantCycleDetectingLock<?>> locksOwnedByThread =
-        LinkedHashMultimap.create();
+    private static final Map<Thread, Deque<ReentrantCycleDetectingLock<?>>> locksOwnedByThread =
+        new ConcurrentHashMap<>();
 
     /**
      * Creates new lock within this factory context. We can guarantee that locks created by the same
@@ -120,15 +131,10 @@ interface CycleDetectingLock<ID> {
       private final ID userLockId;
       /** Factory that was used to create this lock. */
       private final CycleDetectingLockFactory<ID> lockFactory;
-      /**
-       * Thread that owns this lock. Nullable. Guarded by {@code CycleDetectingLockFactory.this}.
-       */
-      private Thread lockOwnerThread = null;
+      /** Thread that owns this lock. Nullable. Only written by the owning thread. */
+      private volatile Thread lockOwnerThread = null;
 
-      /**
-       * Number of times that thread owned this lock. Guarded by {@code
-       * CycleDetectingLockFactory.this}.
-       */
+      /** Number of times that thread owned this lock. Only accessed by the owning thread. */
       private int lockReentranceCount = 0;
 
       ReentrantCycleDetectingLock(
@@ -142,102 +148,88 @@ interface CycleDetectingLock<ID> {
       @Override
       public ListMultimap<Thread, ID> lockOrDetectPotentialLocksCycle() {
         final Thread currentThread = Thread.currentThread();
-        synchronized (CycleDetectingLockFactory.class) {
-          checkState();
-          // Only do work if this thread doesn't already own the lock.
-          // If we're attempting to re-enter our own lock, then we're not going to wait to lock.
-          // Otherwise, if we add ourselves to `lockThreadIsWaitingOn`, another thread attempting to
-          // lock may end up looping forever while detecting cycles (which will OOM).  See
+        // Happy path: nobody else owns the lock (or we already do), no need to look for cycles.
+        if (lockImplementation.tryLock()) {
+          markOwned(currentThread);
+          return ImmutableListMultimap.of();
+        }
+
+        detectionLock.lock();
+        try {
+          // We only get here if another thread owns the lock: tryLock() always succeeds when
+          // re-entering our own lock. That matters, if we added ourselves to
+          // `lockThreadIsWaitingOn` for a lock we own, another thread attempting to lock may end up
+          // looping forever while detecting cycles (which will OOM).  See
           // https://github.com/google/guice/issues/1510 &
           // https://github.com/google/guice/pull/1635.
-          // Note that it's not possible for the owner thread to concurrently relinquish the lock,
-          // because _this_ is the owner thread, and the next line of code this thread will execute
-          // is `lockImplementation.lock()`.
-          if (lockOwnerThread != currentThread) {
-            // Add this lock to the waiting map to ensure it is included in any reported lock cycle.
-            lockThreadIsWaitingOn.put(currentThread, this);
-            ListMultimap<Thread, ID> locksInCycle = detectPotentialLocksCycle();
-            if (!locksInCycle.isEmpty()) {
-              // We aren't actually going to wait for this lock, so remove it from the map.
-              lockThreadIsWaitingOn.remove(currentThread);
-              // potential deadlock is found, we don't try to take this lock
-              return locksInCycle;
-            }
+          Preconditions.checkState(
+              !lockThreadIsWaitingOn.containsKey(currentThread),
+              "Internal error: Thread should not be in a waiting thread on a lock now");
+          // Add this lock to the waiting map to ensure it is included in any reported lock cycle.
+          lockThreadIsWaitingOn.put(currentThread, this);
+          ListMultimap<Thread, ID> locksInCycle = detectPotentialLocksCycle();
+          if (!locksInCycle.isEmpty()) {
+            // We aren't actually going to wait for this lock, so remove it from the map.
+            lockThreadIsWaitingOn.remove(currentThread);
+            // potential deadlock is found, we don't try to take this lock
+            return locksInCycle;
           }
+        } finally {
+          detectionLock.unlock();
         }
 
         // this may be blocking, but we don't expect it to cause a deadlock
         lockImplementation.lock();
 
-        synchronized (CycleDetectingLockFactory.class) {
-          // current thread is no longer waiting on this lock
+        detectionLock.lock();
+        try {
+          // current thread is no longer waiting on this lock, and owns it instead
           lockThreadIsWaitingOn.remove(currentThread);
-          checkState();
+          markOwned(currentThread);
+        } finally {
+          detectionLock.unlock();
+        }
+        // no deadlock is found, locking successful
+        return ImmutableListMultimap.of();
+      }
 
-          // mark it as owned by us
+      /** Records that {@code currentThread} has just taken {@link #lockImplementation}. */
+      private void markOwned(Thread currentThread) {
+        if (lockReentranceCount++ == 0) {
           lockOwnerThread = currentThread;
-          lockReentranceCount++;
           // add this lock to the list of locks owned by a current thread
-          locksOwnedByThread.put(currentThread, this);
+          locksOwnedByThread
+              .computeIfAbsent(currentThread, thread -> new ConcurrentLinkedDeque<>())
+              .add(this);
         }
-        // no deadlock is found, locking successful
-        return ImmutableListMultimap.of();
       }
 
       @Override
       public void unlock() {
         final Thread currentThread = Thread.currentThread();
-        synchronized (CycleDetectingLockFactory.class) {
-          checkState();
-          Preconditions.checkState(
-              lockOwnerThread != null, "Thread is trying to unlock a lock that is not locked");
-          Preconditions.checkState(
-              lockOwnerThread == currentThread,
-              "Thread is trying to unlock a lock owned by another thread");
-
-          // releasing underlying lock
-          lockImplementation.unlock();
+        Preconditions.checkState(
+            lockOwnerThread != null, "Thread is trying to unlock a lock that is not locked");
+        Preconditions.checkState(
+            lockOwnerThread == currentThread,
+            "Thread is trying to unlock a lock owned by another thread");
 
-          // be sure to release the lock synchronously with updating internal state
-          lockReentranceCount--;
-          if (lockReentranceCount == 0) {
-            // we no longer own this lock
-            lockOwnerThread = null;
-            Preconditions.checkState(
-                locksOwnedByThread.remove(currentThread, this),
-                "Internal error: Can not find this lock in locks owned by a current thread");
-            if (locksOwnedByThread.get(currentThread).isEmpty()) {
-              // clearing memory
-              locksOwnedByThread.removeAll(currentThread);
-            }
+        // be sure to update internal state before releasing the underlying lock
+        lockReentranceCount--;
+        if (lockReentranceCount == 0) {
+          // we no longer own this lock
+          lockOwnerThread = null;
+          Deque<ReentrantCycleDetectingLock<?>> ownedLocks = locksOwnedByThread.get(currentThread);
+          Preconditions.checkState(
+              ownedLocks != null && ownedLocks.remove(this),
+              "Internal error: Can not find this lock in locks owned by a current thread");
+          if (ownedLocks.isEmpty()) {
+            // clearing memory
+            locksOwnedByThread.remove(currentThread);
           }
         }
-      }
 
-      /** Check consistency of an internal state. */
-      void checkState() throws IllegalStateException {
-        final Thread currentThread = Thread.currentThread();
-        Preconditions.checkState(
-            !lockThreadIsWaitingOn.containsKey(currentThread),
-            "Internal error: Thread should not be in a waiting thread on a lock now");
-        if (lockOwnerThread != null) {
-          // check state of a locked lock
-          Preconditions.checkState(
-              lockReentranceCount >= 0,
-              "Internal error: Lock ownership and reentrance count internal states do not match");
-          Preconditions.checkState(
-              locksOwnedByThread.get(lockOwnerThread).contains(this),
-              "Internal error: Set of locks owned by a current thread and lock "
-                  + "ownership status do not match");
-        } else {
-          // check state of a non locked lock
-          Preconditions.checkState(
-              lockReentranceCount == 0,
-              "Internal error: Reentrance count of a non locked lock is expect to be zero");
-          Preconditions.checkState(
-              !locksOwnedByThread.values().contains(this),
-              "Internal error: Non locked lock should not be owned by any thread");
-        }
+        // releasing underlying lock
+        lockImplementation.unlock();
       }
 
       /**
@@ -246,11 +238,14 @@ interface CycleDetectingLock<ID> {
        * <p>For lock's thread owner check which lock is it trying to take. Repeat recursively. When
        * current thread is found a potential cycle is detected.
        *
+       * <p>Must be called while holding {@link #detectionLock}.
+       *
        * @see CycleDetectingLock#lockOrDetectPotentialLocksCycle()
        */
       private ListMultimap<Thread, ID> detectPotentialLocksCycle() {
         final Thread currentThread = Thread.currentThread();
-        if (lockOwnerThread == null || lockOwnerThread == currentThread) {
+        Thread lockOwner = lockOwnerThread;
+        if (lockOwner == null || lockOwner == currentThread) {
           // if nobody owns this lock, lock cycle is impossible
           // if a current thread owns this lock, we let Guice to handle it
           return ImmutableListMultimap.of();
@@ -261,8 +256,9 @@ interface CycleDetectingLock<ID> {
         // lock that is a part of a potential locks cycle, starts with current lock
         ReentrantCycleDetectingLock<?> lockOwnerWaitingOn = this;
         // try to find a dependency path between lock's owner thread and a current thread
-        while (lockOwnerWaitingOn != null && lockOwnerWaitingOn.lockOwnerThread != null) {
-          Thread threadOwnerThreadWaits = lockOwnerWaitingOn.lockOwnerThread;
+        while (lockOwnerWaitingOn != null
+            && (lockOwner = lockOwnerWaitingOn.lockOwnerThread) != null) {
+          Thread threadOwnerThreadWaits = lockOwner;
           // in case locks cycle exists lock we're waiting for is part of it
           lockOwnerWaitingOn =
               addAllLockIdsAfter(threadOwnerThreadWaits, lockOwnerWaitingOn, potentialLocksCycle);
@@ -277,7 +273,8 @@ interface CycleDetectingLock<ID> {
 
       /**
        * Adds all locks held by the given thread that are after the given lock and then returns the
-       * lock the thread is currently waiting on, if any
+       * lock the thread is currently waiting on, if any. Returns {@code null} if the thread released
+       * the lock in the meantime, in which case it can't be part of a cycle.
        */
       private ReentrantCycleDetectingLock<?> addAllLockIdsAfter(
           Thread thread,
@@ -285,8 +282,9 @@ interface CycleDetectingLock<ID> {
           ListMultimap<Thread, ID> potentialLocksCycle) {
         boolean found = false;
         Collection<ReentrantCycleDetectingLock<?>> ownedLocks = locksOwnedByThread.get(thread);
-        Preconditions.checkNotNull(
-            ownedLocks, "Internal error: No locks were found taken by a thread");
+        if (ownedLocks == null) {
+          return null;
+        }
         for (ReentrantCycleDetectingLock<?> ownedLock : ownedLocks) {
           if (ownedLock == lock) {
             found = true;
@@ -301,8 +299,10 @@ interface CycleDetectingLock<ID> {
             potentialLocksCycle.put(thread, userLockId);
           }
         }
-        Preconditions.checkState(
-            found, "Internal error: We can not find locks that created a cycle that we detected");
+        if (!found) {
+          // the lock was released (and maybe retaken) while we were looking at it
+          return null;
+        }
         ReentrantCycleDetectingLock<?> unownedLock = lockThreadIsWaitingOn.get(thread);
         // If this thread is waiting for a lock add it to the cycle and return it
         if (unownedLock != null && unownedLock.lockFactory == this.lockFactory) {
@@ -0,0 +1,83 @@
+package com.google.inject.internal;
+
+import com.google.inject.Binding;
+import com.google.inject.Key;
+import java.util.Map;
+
+/**
+ * An immutable, open-addressed table of an injector's own explicit bindings. Built once the
+ * injector's bindings are final, so that looking a key up is a linear probe over one array; keys
+ * it doesn't hold are looked up in the parent injector, so each table only takes memory for the
+ * bindings of its own injector, however many child injectors share an ancestor.
+ *
+ * <p>Keys and bindings are interleaved in the same array so that a hit touches adjacent slots.
+ * Keys cache their hash codes, so hashing is just a field read.
+ */
+final class ExplicitBindingTable {
+  /** Alternating keys and bindings; the key slots are at even indices. */
+  private final Object[] table;
+
+  private final int mask;
+
+  /** The binding data of the parent injector, which misses fall through to, or null. */
+  private final InjectorBindingData parent;
+
+  private ExplicitBindingTable(Object[] table, InjectorBindingData parent) {
+    this.table = table;
+    this.mask = (table.length >> 1) - 1;
+    this.parent = parent;
+  }
+
+  /** Compacts the explicit bindings of {@code bindingData} into a table. */
+  static ExplicitBindingTable create(InjectorBindingData bindingData) {
+    Map<Key<?>, Binding<?>> bindings = bindingData.getExplicitBindingsThisLevel();
+    // keep the load factor at or below one half so misses end quickly
+    int capacity = Integer.highestOneBit(Math.max(bindings.size(), 1) * 2 - 1) << 1;
+    Object[] table = new Object[capacity * 2];
+    int mask = capacity - 1;
+    for (Map.Entry<Key<?>, Binding<?>> entry : bindings.entrySet()) {
+      Key<?> key = entry.getKey();
+      int index = spread(key.hashCode()) & mask;
+      while (table[index << 1] != null) {
+        index = (index + 1) & mask;
+      }
+      table[index << 1] = key;
+      table[(index << 1) + 1] = entry.getValue();
+    }
+    return new ExplicitBindingTable(table, bindingData.parent().orElse(null));
+  }
+
+  /**
+   * Returns the explicit binding for {@code key} in this injector or an ancestor, or null if there
+   * isn't one.
+   */
+  Binding<?> get(Key<?> key) {
+    int hash = spread(key.hashCode());
+    ExplicitBindingTable current = this;
+    while (true) {
+      Object[] table = current.table;
+      int index = hash & current.mask;
+      Object candidate;
+      while ((candidate = table[index << 1]) != null) {
+        if (candidate == key || candidate.equals(key)) {
+          return (Binding<?>) table[(index << 1) + 1];
+        }
+        index = (index + 1) & current.mask;
+      }
+      InjectorBindingData parent = current.parent;
+      if (parent == null) {
+        return null;
+      }
+      current = parent.getExplicitBindingTable();
+      if (current == null) {
+        return parent.getExplicitBinding(key); // the parent is still being built
+      }
+    }
+  }
+
+  /** Scrambles the hash code so that similar keys don't cluster under linear probing. */
+  private static int spread(int hash) {
+    int h = hash * 0x9E3779B9;
+    return h ^ (h >>> 16);
+  }
+}
@@ -52,6 +52,15 @@ final class FactoryProxy<T> implements InternalFactory<T>, CreationListener {
     }
   }
 
+  Key<? extends T> getTargetKey() {
+    return targetKey;
+  }
+
+  /** Returns the factory this proxies, or null if it hasn't been resolved yet. */
+  InternalFactory<? extends T> getTargetFactory() {
+    return targetFactory;
+  }
+
   @Override
   public T get(InternalContext context, Dependency<?> dependency, boolean linked)
       throws InternalProvisionException {
@@ -18,32 +18,43 @@ package com.google.inject.internal;
 
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
 import com.google.common.cache.LoadingCache;
-import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
+import java.util.ArrayDeque;
 import java.util.Map;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Lazily creates (and caches) values for keys. If creating the value fails (with errors), an
  * exception is thrown on retrieval.
  *
+ * <p>Caches record hit, miss and load time statistics, see {@link #stats}. With {@code
+ * -Dguice_injector_cache=WEAK} values are held weakly: once nothing outside the cache uses a value,
+ * its entry, along with the classes its key and value refer to, is dropped the next time the cache
+ * cleans up during a lookup, and created again if it's needed later.
+ *
  * @param <K> the key type
  * @param <V> the value type
  * @author jessewilson@google.com (Jesse Wilson)
  */
 public abstract class FailableCache<K, V> {
 
-  private final Set<K> loadingSet = ConcurrentHashMap.newKeySet();
+  /**
+   * The caches and keys the current thread is loading, most recent first. Loads re-enter only on
+   * the thread that started them, so a per-thread stack is enough to tell whether a key is being
+   * loaded, without registering every load in a set shared by all threads.
+   */
+  private static final ThreadLocal<ArrayDeque<Map.Entry<FailableCache<?, ?>, Object>>> LOADING =
+      ThreadLocal.withInitial(ArrayDeque::new);
 
   private final LoadingCache<K, Object> delegate =
-      CacheBuilder.newBuilder()
+      newCacheBuilder()
           .build(
               new CacheLoader<K, Object>() {
                 @Override
                 public Object load(K key) {
-                  loadingSet.add(key);
+                  ArrayDeque<Map.Entry<FailableCache<?, ?>, Object>> loading = LOADING.get();
+                  loading.push(Map.entry(FailableCache.this, key));
                   Errors errors = new Errors();
                   V result = null;
                   try {
@@ -51,12 +62,17 @@ public abstract class FailableCache<K, V> {
                   } catch (ErrorsException e) {
                     errors.merge(e.getErrors());
                   } finally {
-                    loadingSet.remove(key);
+                    loading.pop();
                   }
                   return errors.hasErrors() ? errors : result;
                 }
               });
 
+  private static CacheBuilder<Object, Object> newCacheBuilder() {
+    CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder().recordStats();
+    return InternalFlags.useWeakInjectorCaches() ? builder.weakValues() : builder;
+  }
+
   protected abstract V create(K key, Errors errors) throws ErrorsException;
 
   public V get(K key, Errors errors) throws ErrorsException {
@@ -75,19 +91,37 @@ public abstract class FailableCache<K, V> {
     return delegate.asMap().remove(key) != null;
   }
 
+  /** Returns true if the current thread is in the process of loading {@code key}. */
   boolean isLoading(K key) {
-    return loadingSet.contains(key);
+    for (Map.Entry<FailableCache<?, ?>, Object> load : LOADING.get()) {
+      if (load.getKey() == this && load.getValue().equals(key)) {
+        return true;
+      }
+    }
+    return false;
   }
 
+  /**
+   * Returns a live view of the successfully created values. The view is weakly consistent, like the
+   * cache itself, and reading it copies nothing.
+   */
   Map<K, V> asMap() {
     return Maps.transformValues(
         Maps.filterValues(
-            ImmutableMap.copyOf(delegate.asMap()),
-            resultOrError -> !(resultOrError instanceof Errors)),
+            delegate.asMap(), resultOrError -> !(resultOrError instanceof Errors)),
         resultOrError -> {
           @SuppressWarnings("unchecked") // create returned a non-error result, so this is safe
           V result = (V) resultOrError;
           return result;
         });
   }
+
+  /**
+   * Returns the statistics of this cache: lookups that found a value or an error (hits), lookups
+   * that had to create one (misses), and the time spent creating them, which includes the time
+   * spent creating other values they depend on.
+   */
+  CacheStats stats() {
+    return delegate.stats();
+  }
 }
@@ -91,7 +91,7 @@ final class Initializer {
     if (instance == null
         || (injectionPoints.isEmpty()
             && !injector.membersInjectorStore.hasTypeListeners()
-            && provisionCallback == null)) {
+            && (provisionCallback == null || !provisionCallback.hasListeners()))) {
       return Initializables.of(instance);
     }
 
@@ -0,0 +1,241 @@
+package com.google.inject.internal;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Build-time metadata about which members of a class carry runtime-visible annotations, written by
+ * {@link InjectionIndexProcessor} and read here so that injection point and {@code @Provides}
+ * scanning can skip reflecting over members (and whole classes) that can't be relevant.
+ *
+ * <p>An index only ever answers "this member is certainly unannotated"; anything it lists is still
+ * inspected reflectively, and classes it doesn't cover (because they were compiled without the
+ * processor, or are records, local or anonymous classes) are scanned exactly as before. Indexing
+ * can be switched off with {@code -Dguice_injection_index=DISABLED}, for example when stale index
+ * files may be on the classpath.
+ *
+ * <p>Index files are plain text at {@value #RESOURCE_NAME}, one per jar or output directory:
+ *
+ * <pre>
+ * T com.example.Service
+ * F logger jakarta.inject.Inject
+ * M setRepository com.google.inject.Inject com.google.inject.name.Named
+ * M &lt;init&gt; jakarta.inject.Inject
+ * </pre>
+ *
+ * <p>Each {@code T} line starts a class (by binary name); the {@code F} (field) and {@code M}
+ * (method or constructor) lines that follow name each annotated member and its annotation types.
+ * Overloaded methods share one line. Unannotated members are not listed. Constructors are listed
+ * but never trusted to be unannotated: they are always inspected reflectively.
+ */
+public final class InjectionIndex {
+  private static final Logger logger = Logger.getLogger(InjectionIndex.class.getName());
+
+  /** Where index files are read from and written to, relative to the class path root. */
+  public static final String RESOURCE_NAME = "META-INF/guice/injection.idx";
+
+  static final String TYPE = "T";
+  static final String FIELD = "F";
+  static final String METHOD = "M";
+  static final String CONSTRUCTOR_NAME = "<init>";
+
+  private static final InjectionIndex NOT_INDEXED =
+      new InjectionIndex(ImmutableMap.of(), ImmutableMap.of());
+
+  private static final LoadingCache<ClassLoader, Map<String, InjectionIndex>> BY_CLASS_LOADER =
+      CacheBuilder.newBuilder()
+          .weakKeys()
+          .build(CacheLoader.from(InjectionIndex::load));
+
+  private static final ClassValue<InjectionIndex> BY_CLASS =
+      new ClassValue<InjectionIndex>() {
+        @Override
+        protected InjectionIndex computeValue(Class<?> type) {
+          ClassLoader classLoader = type.getClassLoader();
+          if (classLoader == null || !InternalFlags.isInjectionIndexEnabled()) {
+            return NOT_INDEXED;
+          }
+          return BY_CLASS_LOADER
+              .getUnchecked(classLoader)
+              .getOrDefault(type.getName(), NOT_INDEXED);
+        }
+      };
+
+  private final ImmutableMap<String, ImmutableSet<String>> fields;
+  private final ImmutableMap<String, ImmutableSet<String>> methods;
+
+  private InjectionIndex(
+      ImmutableMap<String, ImmutableSet<String>> fields,
+      ImmutableMap<String, ImmutableSet<String>> methods) {
+    this.fields = fields;
+    this.methods = methods;
+  }
+
+  /** Returns the index entry for {@code type}, or null if it wasn't indexed at build time. */
+  public static InjectionIndex forClass(Class<?> type) {
+    InjectionIndex index = BY_CLASS.get(type);
+    return index == NOT_INDEXED ? null : index;
+  }
+
+  /** Returns true if any field of this class has a runtime annotation. */
+  public boolean hasAnnotatedFields() {
+    return !fields.isEmpty();
+  }
+
+  /** Returns true if any method or constructor of this class has a runtime annotation. */
+  public boolean hasAnnotatedMethods() {
+    return !methods.isEmpty();
+  }
+
+  /**
+   * Returns false if {@code member}, which must be declared by this index's class, certainly has no
+   * runtime-visible annotations. Constructors are always reported as possibly annotated, since the
+   * class file may declare constructors (or annotations on them) that the source didn't.
+   */
+  public boolean mayBeAnnotated(Member member) {
+    if (member instanceof Field) {
+      return fields.containsKey(member.getName());
+    }
+    return member instanceof Constructor || methods.containsKey(member.getName());
+  }
+
+  /** Returns true if some method of this class might carry one of {@code annotationTypes}. */
+  public boolean hasMethodAnnotatedWithAny(
+      Collection<? extends Class<? extends Annotation>> annotationTypes) {
+    for (ImmutableSet<String> annotations : methods.values()) {
+      if (containsAny(annotations, annotationTypes)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns false if {@code member}, which must be declared by this index's class, certainly has
+   * none of {@code annotationTypes}.
+   */
+  public boolean mayBeAnnotatedWithAny(
+      Member member, Collection<? extends Class<? extends Annotation>> annotationTypes) {
+    if (member instanceof Constructor) {
+      return true; // see mayBeAnnotated
+    }
+    ImmutableSet<String> annotations =
+        member instanceof Field ? fields.get(member.getName()) : methods.get(member.getName());
+    return annotations != null && containsAny(annotations, annotationTypes);
+  }
+
+  private static boolean containsAny(
+      Set<String> annotations, Collection<? extends Class<? extends Annotation>> annotationTypes) {
+    for (Class<? extends Annotation> annotationType : annotationTypes) {
+      if (annotations.contains(annotationType.getName())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** Reads and merges every index file visible to {@code classLoader}. */
+  private static Map<String, InjectionIndex> load(ClassLoader classLoader) {
+    Map<String, Builder> builders = new HashMap<>();
+    try {
+      Enumeration<URL> resources = classLoader.getResources(RESOURCE_NAME);
+      while (resources.hasMoreElements()) {
+        URL resource = resources.nextElement();
+        // a file is only used if it reads completely, a truncated entry would hide members
+        Map<String, Builder> file = new HashMap<>();
+        try (InputStream in = resource.openStream()) {
+          read(in, file);
+          file.forEach((type, builder) -> builders.merge(type, builder, Builder::mergeFrom));
+        } catch (IOException | RuntimeException e) {
+          logger.log(Level.WARNING, "Ignoring unreadable injection index " + resource, e);
+        }
+      }
+    } catch (IOException e) {
+      logger.log(Level.WARNING, "Unable to list injection indexes", e);
+    }
+    Map<String, InjectionIndex> result = new HashMap<>(builders.size());
+    builders.forEach((type, builder) -> result.put(type, builder.build()));
+    return result;
+  }
+
+  private static void read(InputStream in, Map<String, Builder> builders) throws IOException {
+    BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+    Builder current = null;
+    String line;
+    while ((line = reader.readLine()) != null) {
+      if (line.isEmpty() || line.startsWith("#")) {
+        continue;
+      }
+      String[] parts = line.split(" ");
+      if (parts.length < 2) {
+        throw new IOException("Malformed line: " + line);
+      }
+      if (parts[0].equals(TYPE)) {
+        // the same class may be listed by several jars (split packages), keep the union
+        current = builders.computeIfAbsent(parts[1], type -> new Builder());
+      } else if (current == null) {
+        throw new IOException("Member listed before its type: " + line);
+      } else if (parts[0].equals(FIELD)) {
+        add(current.fields, parts);
+      } else if (parts[0].equals(METHOD)) {
+        add(current.methods, parts);
+      } else {
+        throw new IOException("Malformed line: " + line);
+      }
+    }
+  }
+
+  private static void add(Map<String, Set<String>> members, String[] parts) {
+    Set<String> annotations = members.computeIfAbsent(parts[1], name -> new LinkedHashSet<>());
+    for (int i = 2; i < parts.length; i++) {
+      annotations.add(parts[i]);
+    }
+  }
+
+  private static final class Builder {
+    final Map<String, Set<String>> fields = new HashMap<>();
+    final Map<String, Set<String>> methods = new HashMap<>();
+
+    Builder mergeFrom(Builder other) {
+      other.fields.forEach(
+          (name, annotations) ->
+              fields.computeIfAbsent(name, key -> new LinkedHashSet<>()).addAll(annotations));
+      other.methods.forEach(
+          (name, annotations) ->
+              methods.computeIfAbsent(name, key -> new LinkedHashSet<>()).addAll(annotations));
+      return this;
+    }
+
+    InjectionIndex build() {
+      return new InjectionIndex(freeze(fields), freeze(methods));
+    }
+
+    private static ImmutableMap<String, ImmutableSet<String>> freeze(
+        Map<String, Set<String>> members) {
+      ImmutableMap.Builder<String, ImmutableSet<String>> builder = ImmutableMap.builder();
+      members.forEach((name, annotations) -> builder.put(name, ImmutableSet.copyOf(annotations)));
+      return builder.buildOrThrow();
+    }
+  }
+}
@@ -0,0 +1,185 @@
+package com.google.inject.internal;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.Elements;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Writes the {@link InjectionIndex} for the classes being compiled to {@value
+ * InjectionIndex#RESOURCE_NAME} in the class output.
+ *
+ * <p>The processor is registered as a service, so javac discovers it wherever guice is on the
+ * processor path (or, without {@code -processorpath}, the class path), but it does nothing unless
+ * the {@value #OPTION} option is {@code true}: {@code -Aguice.injectionIndex=true} (for Maven, a
+ * {@code compilerArgs} entry). Pass {@code -proc:none} or an explicit {@code -processor} list to
+ * keep javac from running it at all.
+ *
+ * <p>Records, interfaces, annotation types, and local or anonymous classes are not indexed, and
+ * neither is any class with an annotation whose type couldn't be resolved; Guice scans those
+ * reflectively as usual.
+ */
+@SupportedAnnotationTypes("*")
+@SupportedOptions(InjectionIndexProcessor.OPTION)
+public final class InjectionIndexProcessor extends javax.annotation.processing.AbstractProcessor {
+  // not com.google.inject.internal.AbstractProcessor, which visits module elements
+
+  /** The processor option that turns the index on. */
+  static final String OPTION = "guice.injectionIndex";
+
+  /** Index entries by binary class name, sorted so builds are reproducible. */
+  private final Map<String, String> entries = new TreeMap<>();
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public Set<String> getSupportedAnnotationTypes() {
+    // with no supported types javac skips the processor for every round
+    return enabled() ? super.getSupportedAnnotationTypes() : Set.of();
+  }
+
+  private boolean enabled() {
+    return Boolean.parseBoolean(processingEnv.getOptions().get(OPTION));
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    if (!enabled()) {
+      return false;
+    } else if (roundEnv.processingOver()) {
+      write();
+    } else {
+      for (Element element : roundEnv.getRootElements()) {
+        if (element instanceof TypeElement) {
+          index((TypeElement) element);
+        }
+      }
+    }
+    return false; // never claims annotations
+  }
+
+  private void index(TypeElement type) {
+    Elements elements = processingEnv.getElementUtils();
+    StringBuilder entry = new StringBuilder();
+    boolean indexable = type.getKind() == ElementKind.CLASS || type.getKind() == ElementKind.ENUM;
+    if (indexable) {
+      entry.append(InjectionIndex.TYPE).append(' ').append(elements.getBinaryName(type));
+      entry.append('\n');
+    }
+    Map<String, Set<String>> fields = new LinkedHashMap<>();
+    Map<String, Set<String>> methods = new LinkedHashMap<>();
+    for (Element member : type.getEnclosedElements()) {
+      switch (member.getKind()) {
+        case CLASS:
+        case ENUM:
+        case INTERFACE:
+        case ANNOTATION_TYPE:
+          index((TypeElement) member);
+          continue;
+        case FIELD:
+        case ENUM_CONSTANT:
+          indexable &= collect(member, member.getSimpleName().toString(), fields);
+          continue;
+        case METHOD:
+          indexable &= collect(member, member.getSimpleName().toString(), methods);
+          continue;
+        case CONSTRUCTOR:
+          indexable &= collect(member, InjectionIndex.CONSTRUCTOR_NAME, methods);
+          continue;
+        default:
+          // records and anything newer are left to reflection
+          if (member instanceof TypeElement) {
+            index((TypeElement) member);
+          }
+      }
+    }
+    if (!indexable) {
+      return;
+    }
+    append(entry, InjectionIndex.FIELD, fields);
+    append(entry, InjectionIndex.METHOD, methods);
+    entries.put(elements.getBinaryName(type).toString(), entry.toString());
+  }
+
+  /**
+   * Adds the runtime-visible annotations on {@code member} under {@code name}, returning false if
+   * one of them can't be resolved (so its retention is unknown).
+   */
+  private boolean collect(Element member, String name, Map<String, Set<String>> members) {
+    Set<String> annotations = null;
+    for (AnnotationMirror mirror : member.getAnnotationMirrors()) {
+      Element annotationType = mirror.getAnnotationType().asElement();
+      if (annotationType.getKind() != ElementKind.ANNOTATION_TYPE) {
+        return false;
+      }
+      Retention retention = annotationType.getAnnotation(Retention.class);
+      if (retention == null || retention.value() != RetentionPolicy.RUNTIME) {
+        continue; // invisible to reflection, like @Override or CLASS-retained @Nullables
+      }
+      if (annotations == null) {
+        annotations = members.computeIfAbsent(name, key -> new TreeSet<>());
+      }
+      annotations.add(
+          processingEnv.getElementUtils().getBinaryName((TypeElement) annotationType).toString());
+    }
+    return true;
+  }
+
+  private static void append(StringBuilder entry, String kind, Map<String, Set<String>> members) {
+    members.forEach(
+        (name, annotations) -> {
+          entry.append(kind).append(' ').append(name);
+          for (String annotation : annotations) {
+            entry.append(' ').append(annotation);
+          }
+          entry.append('\n');
+        });
+  }
+
+  private void write() {
+    // written even when empty, so that an index left in the class output by an earlier build that
+    // had annotated classes is replaced
+    try {
+      FileObject file =
+          processingEnv
+              .getFiler()
+              .createResource(StandardLocation.CLASS_OUTPUT, "", InjectionIndex.RESOURCE_NAME);
+      try (Writer writer =
+          new OutputStreamWriter(file.openOutputStream(), StandardCharsets.UTF_8)) {
+        writer.write("# Generated by " + InjectionIndexProcessor.class.getName() + "\n");
+        for (String entry : entries.values()) {
+          writer.write(entry);
+        }
+      }
+    } catch (IOException e) {
+      processingEnv
+          .getMessager()
+          .printMessage(
+              Diagnostic.Kind.WARNING,
+              "Unable to write " + InjectionIndex.RESOURCE_NAME + ", Guice will use reflection: "
+                  + e);
+    }
+  }
+}
@@ -70,6 +70,10 @@ class InjectorBindingData {
   private final List<TypeListenerBinding> typeListenerBindings = Lists.newArrayList();
   private final List<ProvisionListenerBinding> provisionListenerBindings = Lists.newArrayList();
   private final List<ModuleAnnotatedMethodScannerBinding> scannerBindings = Lists.newArrayList();
+  // Explicit bindings of this injector, compacted once they can no longer change; misses go on to
+  // the parent's. Only ever set to a fully built (immutable) table, and lookups before then use the
+  // maps above, so this doesn't need to be volatile.
+  private ExplicitBindingTable explicitBindingTable;
   // The injector's explicit bindings, indexed by the binding's type.
   private final ListMultimap<TypeLiteral<?>, Binding<?>> indexedExplicitBindings =
       ArrayListMultimap.create();
@@ -84,6 +88,10 @@ class InjectorBindingData {
 
   @SuppressWarnings("unchecked") // we only put in BindingImpls that match their key types
   public <T> BindingImpl<T> getExplicitBinding(Key<T> key) {
+    ExplicitBindingTable table = explicitBindingTable;
+    if (table != null) {
+      return (BindingImpl<T>) table.get(key);
+    }
     Binding<?> binding = explicitBindings.get(key);
     if (binding == null && parent.isPresent()) {
       return parent.get().getExplicitBinding(key);
@@ -91,6 +99,11 @@ class InjectorBindingData {
     return (BindingImpl<T>) binding;
   }
 
+  /** Returns the compacted explicit bindings, or null if they haven't been compacted yet. */
+  ExplicitBindingTable getExplicitBindingTable() {
+    return explicitBindingTable;
+  }
+
   public Map<Key<?>, Binding<?>> getExplicitBindingsThisLevel() {
     return explicitBindings;
   }
@@ -263,6 +276,14 @@ class InjectorBindingData {
     }
   }
 
+  /**
+   * Once the explicit bindings of this injector are finalized, this method is called to compact them
+   * into a table for {@link #getExplicitBinding}.
+   */
+  void compactExplicitBindings() {
+    explicitBindingTable = ExplicitBindingTable.create(this);
+  }
+
   public ListMultimap<TypeLiteral<?>, Binding<?>> getIndexedExplicitBindings() {
     return indexedExplicitBindings;
   }
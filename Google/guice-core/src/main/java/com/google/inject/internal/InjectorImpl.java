@@ -22,17 +22,15 @@ import static com.google.inject.internal.Annotations.findScopeAnnotation;
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Objects;
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.ImmutableListMultimap;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
-import com.google.common.collect.Multimaps;
-import com.google.common.collect.Sets;
 import com.google.inject.Binder;
 import com.google.inject.Binding;
 import com.google.inject.ConfigurationException;
 import com.google.inject.ImplementedBy;
 import com.google.inject.Injector;
 import com.google.inject.Key;
+import com.google.inject.KeySet;
 import com.google.inject.MembersInjector;
 import com.google.inject.Module;
 import com.google.inject.ProvidedBy;
@@ -56,12 +54,15 @@ import java.lang.reflect.GenericArrayType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Default {@link Injector} implementation.
@@ -78,18 +79,26 @@ final class InjectorImpl implements Injector, Lookups {
     final boolean disableCircularProxies;
     final boolean atInjectRequired;
     final boolean exactBindingAnnotationsRequired;
+    /** Creates eager singletons concurrently when set, otherwise on the creating thread. */
+    @Nullable final Executor singletonPreloadExecutor;
+    /** Records provision metrics when set, linked to the parent injector's recorder. */
+    @Nullable final ProvisionMetricsRecorder provisionMetrics;
 
     InjectorOptions(
         Stage stage,
         boolean jitDisabled,
         boolean disableCircularProxies,
         boolean atInjectRequired,
-        boolean exactBindingAnnotationsRequired) {
+        boolean exactBindingAnnotationsRequired,
+        @Nullable Executor singletonPreloadExecutor,
+        @Nullable ProvisionMetricsRecorder provisionMetrics) {
       this.stage = stage;
       this.jitDisabled = jitDisabled;
       this.disableCircularProxies = disableCircularProxies;
       this.atInjectRequired = atInjectRequired;
       this.exactBindingAnnotationsRequired = exactBindingAnnotationsRequired;
+      this.singletonPreloadExecutor = singletonPreloadExecutor;
+      this.provisionMetrics = provisionMetrics;
     }
 
     @Override
@@ -100,6 +109,8 @@ final class InjectorImpl implements Injector, Lookups {
           .add("disableCircularProxies", disableCircularProxies)
           .add("atInjectRequired", atInjectRequired)
           .add("exactBindingAnnotationsRequired", exactBindingAnnotationsRequired)
+          .add("singletonPreloadExecutor", singletonPreloadExecutor)
+          .add("provisionMetrics", provisionMetrics != null)
           .toString();
     }
   }
@@ -121,8 +132,7 @@ final class InjectorImpl implements Injector, Lookups {
 
   Lookups lookups = new DeferredLookups(this);
 
-  /** The set of types passed to {@link #getMembersInjector} and {@link #injectMembers}. */
-  final Set<TypeLiteral<?>> userRequestedMembersInjectorTypes = Sets.newConcurrentHashSet();
+  final InjectorStatsRecorder stats = new InjectorStatsRecorder(this);
 
   InjectorImpl(
       InjectorImpl parent,
@@ -902,6 +912,7 @@ final class InjectorImpl implements Injector, Lookups {
     BindingImpl<T> binding = createJustInTimeBinding(key, errors, jitDisabled, jitType);
     jitBindingData.banKeyInParent(key, bindingData, binding.getSource());
     jitBindingData.putJitBinding(key, binding);
+    stats.recordJitBinding();
     return binding;
   }
 
@@ -1047,11 +1058,7 @@ final class InjectorImpl implements Injector, Lookups {
     Map<TypeLiteral<?>, List<InjectionPoint>> res =
         (Map<TypeLiteral<?>, List<InjectionPoint>>)
             (Map<TypeLiteral<?>, ?>)
-                ImmutableListMultimap.copyOf(
-                        Multimaps.filterKeys(
-                            membersInjectorStore.getAllInjectionPoints(),
-                            userRequestedMembersInjectorTypes::contains))
-                    .asMap();
+                membersInjectorStore.getUserRequestedInjectionPoints().asMap();
     return res;
   }
 
@@ -1112,11 +1119,12 @@ final class InjectorImpl implements Injector, Lookups {
   @Override
   public <T> MembersInjector<T> getMembersInjector(TypeLiteral<T> typeLiteral) {
     checkNotNull(typeLiteral, "typeLiteral");
-    userRequestedMembersInjectorTypes.add(typeLiteral);
 
     Errors errors = new Errors(typeLiteral);
     try {
-      return membersInjectorStore.get(typeLiteral, errors);
+      MembersInjectorImpl<T> membersInjector = membersInjectorStore.get(typeLiteral, errors);
+      membersInjectorStore.markUserRequested(typeLiteral);
+      return membersInjector;
     } catch (ErrorsException e) {
       ConfigurationException exception =
           new ConfigurationException(errors.merge(e.getErrors()).getMessages());
@@ -1186,6 +1194,69 @@ final class InjectorImpl implements Injector, Lookups {
     return getProvider(type).get();
   }
 
+  @Override
+  public KeySet getKeySet(Iterable<? extends Key<?>> keys) {
+    ImmutableList<Key<?>> keyList = ImmutableList.copyOf(checkNotNull(keys, "keys"));
+    Dependency<?>[] dependencies = new Dependency<?>[keyList.size()];
+    InternalFactory<?>[] factories = new InternalFactory<?>[keyList.size()];
+    Errors errors = new Errors();
+    for (int i = 0; i < keyList.size(); i++) {
+      Key<?> key = keyList.get(i);
+      try {
+        dependencies[i] = Dependency.get(key);
+        factories[i] =
+            getBindingOrThrow(key, errors.withSource(key), JitLimitation.NO_JIT)
+                .getInternalFactory();
+      } catch (ErrorsException e) {
+        errors.merge(e.getErrors()); // keep resolving, to report every missing binding at once
+      }
+    }
+    errors.throwConfigurationExceptionIfErrorsExist();
+    return new KeySetImpl(keyList, dependencies, factories);
+  }
+
+  /** Provisions the instances of a key set from resolved factories, in one context. */
+  private final class KeySetImpl implements KeySet {
+    private final ImmutableList<Key<?>> keys;
+    private final Dependency<?>[] dependencies;
+    private final InternalFactory<?>[] factories;
+
+    KeySetImpl(
+        ImmutableList<Key<?>> keys, Dependency<?>[] dependencies, InternalFactory<?>[] factories) {
+      this.keys = keys;
+      this.dependencies = dependencies;
+      this.factories = factories;
+    }
+
+    @Override
+    public List<Key<?>> getKeys() {
+      return keys;
+    }
+
+    @Override
+    public List<Object> getInstances() {
+      Object[] instances = new Object[factories.length];
+      InternalContext context = enterContext();
+      try {
+        for (int i = 0; i < factories.length; i++) {
+          try {
+            instances[i] = factories[i].get(context, dependencies[i], false);
+          } catch (InternalProvisionException e) {
+            throw e.addSource(dependencies[i]).toProvisionException();
+          }
+        }
+      } finally {
+        context.close();
+      }
+      return Collections.unmodifiableList(Arrays.asList(instances));
+    }
+
+    @Override
+    public String toString() {
+      return "KeySet" + keys;
+    }
+  }
+
   /**
    * Holds Object[] as a mutable wrapper, rather than InternalContext, since array operations are
    * faster than ThreadLocal.set() / .get() operations.
@@ -22,9 +22,13 @@ import static com.google.common.base.Preconditions.checkState;
 import com.google.inject.Stage;
 import com.google.inject.internal.InjectorImpl.InjectorOptions;
 import com.google.inject.spi.DisableCircularProxiesOption;
+import com.google.inject.spi.ParallelSingletonPreloadingOption;
+import com.google.inject.spi.RecordProvisionMetricsOption;
+import com.google.inject.spi.RecordSourceNamesOnlyOption;
 import com.google.inject.spi.RequireAtInjectOnConstructorsOption;
 import com.google.inject.spi.RequireExactBindingAnnotationsOption;
 import com.google.inject.spi.RequireExplicitBindingsOption;
+import java.util.concurrent.Executor;
 
 /**
  * A processor to gather injector options.
@@ -37,6 +41,8 @@ class InjectorOptionsProcessor extends AbstractProcessor {
   private boolean jitDisabled = false;
   private boolean atInjectRequired = false;
   private boolean exactBindingAnnotationsRequired = false;
+  private Executor singletonPreloadExecutor = null;
+  private boolean provisionMetricsRecorded = false;
 
   InjectorOptionsProcessor(Errors errors) {
     super(errors);
@@ -48,6 +54,23 @@ class InjectorOptionsProcessor extends AbstractProcessor {
     return true;
   }
 
+  @Override
+  public Boolean visit(ParallelSingletonPreloadingOption option) {
+    singletonPreloadExecutor = option.getExecutor();
+    return true;
+  }
+
+  @Override
+  public Boolean visit(RecordProvisionMetricsOption option) {
+    provisionMetricsRecorded = true;
+    return true;
+  }
+
+  @Override
+  public Boolean visit(RecordSourceNamesOnlyOption option) {
+    return true; // already applied while the elements were recorded
+  }
+
   @Override
   public Boolean visit(RequireExplicitBindingsOption option) {
     jitDisabled = true;
@@ -74,7 +97,9 @@ class InjectorOptionsProcessor extends AbstractProcessor {
           jitDisabled,
           disableCircularProxies,
           atInjectRequired,
-          exactBindingAnnotationsRequired);
+          exactBindingAnnotationsRequired,
+          singletonPreloadExecutor,
+          provisionMetricsRecorded ? new ProvisionMetricsRecorder(null) : null);
     } else {
       checkState(stage == parentOptions.stage, "child & parent stage don't match");
       return new InjectorOptions(
@@ -82,7 +107,13 @@ class InjectorOptionsProcessor extends AbstractProcessor {
           jitDisabled || parentOptions.jitDisabled,
           disableCircularProxies || parentOptions.disableCircularProxies,
           atInjectRequired || parentOptions.atInjectRequired,
-          exactBindingAnnotationsRequired || parentOptions.exactBindingAnnotationsRequired);
+          exactBindingAnnotationsRequired || parentOptions.exactBindingAnnotationsRequired,
+          singletonPreloadExecutor != null
+              ? singletonPreloadExecutor
+              : parentOptions.singletonPreloadExecutor,
+          parentOptions.provisionMetrics != null || provisionMetricsRecorded
+              ? new ProvisionMetricsRecorder(parentOptions.provisionMetrics)
+              : null);
     }
   }
 }
@@ -19,12 +19,15 @@ package com.google.inject.internal;
 import static com.google.common.base.Preconditions.checkState;
 import static com.google.inject.Scopes.SINGLETON;
 import static com.google.inject.internal.GuiceInternal.GUICE_INTERNAL;
+import static com.google.inject.internal.InternalFlags.isParallelModuleConfigurationEnabled;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import com.google.inject.*;
 import com.google.inject.Module;
 import com.google.inject.gee.BindScopeProvider;
+import com.google.inject.gee.GeeProviderRegistry;
 import com.google.inject.internal.InjectorImpl.InjectorOptions;
 import com.google.inject.internal.util.ContinuousStopwatch;
 import com.google.inject.internal.util.SourceProvider;
@@ -32,6 +35,7 @@ import com.google.inject.spi.BindingSourceRestriction;
 import com.google.inject.spi.Dependency;
 import com.google.inject.spi.Element;
 import com.google.inject.spi.Elements;
+import com.google.inject.spi.Message;
 import com.google.inject.gee.InjectionPoint;
 import com.google.inject.spi.ModuleAnnotatedMethodScannerBinding;
 import com.google.inject.spi.PrivateElements;
@@ -39,7 +43,7 @@ import com.google.inject.spi.ProvisionListenerBinding;
 import com.google.inject.spi.TypeListenerBinding;
 import java.util.List;
 import java.util.Optional;
-import java.util.ServiceLoader;
+import java.util.concurrent.ForkJoinTask;
 import java.util.logging.Logger;
 
 /**
@@ -160,8 +164,18 @@ final class InjectorShell {
       // can have a parent Injector, when Injector.createChildInjector is called). It isn't
       // necessary to call this check on child PrivateElements shells because it walks the entire
       // tree of elements, recurring on PrivateElements.
+      ForkJoinTask<ImmutableList<Message>> restrictionCheck = null;
       if (privateElements == null) {
-        elements.addAll(BindingSourceRestriction.check(GUICE_INTERNAL, elements));
+        if (isParallelModuleConfigurationEnabled()) {
+          // The check only reads the elements, so it can run while the options are processed.
+          List<Element> recordedElements = ImmutableList.copyOf(elements);
+          restrictionCheck =
+              ForkJoinTask.adapt(
+                      () -> BindingSourceRestriction.check(GUICE_INTERNAL, recordedElements))
+                  .fork();
+        } else {
+          elements.addAll(BindingSourceRestriction.check(GUICE_INTERNAL, elements));
+        }
       }
 
       // Look for injector-changing options
@@ -172,6 +186,11 @@ final class InjectorShell {
       InjectorImpl injector = new InjectorImpl(parent, bindingData, jitBindingData, options);
       if (privateElements != null) {
         privateElements.initInjector(injector);
+        if (options.provisionMetrics != null && parent.options.provisionMetrics != null) {
+          for (Key<?> key : privateElements.getExposedKeys()) {
+            parent.options.provisionMetrics.expose(key, options.provisionMetrics);
+          }
+        }
       }
 
       // add default type converters if this is a top-level injector
@@ -179,6 +198,9 @@ final class InjectorShell {
         TypeConverterBindingProcessor.prepareBuiltInConverters(injector);
       }
 
+      if (restrictionCheck != null) {
+        elements.addAll(restrictionCheck.join());
+      }
       stopwatch.resetAndLog("Module execution");
 
       new MessageProcessor(errors).process(injector, elements);
@@ -193,7 +215,8 @@ final class InjectorShell {
       List<ProvisionListenerBinding> provisionListenerBindings =
           injector.getBindingData().getProvisionListenerBindings();
       injector.provisionListenerStore =
-          new ProvisionListenerCallbackStore(provisionListenerBindings);
+          new ProvisionListenerCallbackStore(
+              provisionListenerBindings, injector.options.provisionMetrics);
       stopwatch.resetAndLog("TypeListeners & ProvisionListener creation");
 
       new ScopeBindingProcessor(errors).process(injector, elements);
@@ -336,8 +359,7 @@ final class InjectorShell {
       binder = binder.withSource(SourceProvider.UNKNOWN_SOURCE);
       binder.bindScope(Singleton.class, SINGLETON);
 
-      ServiceLoader<BindScopeProvider> scopeProviders = ServiceLoader.load(BindScopeProvider.class);
-      for (BindScopeProvider scopeProvider : scopeProviders)
+      for (BindScopeProvider scopeProvider : GeeProviderRegistry.get().getBindScopeProviders())
       {
         scopeProvider.bindScope(binder);
       }
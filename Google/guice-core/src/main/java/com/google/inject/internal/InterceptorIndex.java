@@ -0,0 +1,132 @@
+package com.google.inject.internal;
+
+import static com.google.inject.internal.GuiceInternal.GUICE_INTERNAL;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSetMultimap;
+import com.google.inject.matcher.Matchers;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The method aspects of an injector, indexed by the method annotations they require. Most
+ * interceptors are bound to methods {@link Matchers#annotatedWith annotated with} something, so
+ * a class none of whose methods carry such an annotation can be ruled out without building an
+ * enhancer or testing each of its methods against each method matcher.
+ */
+final class InterceptorIndex {
+
+  static final InterceptorIndex EMPTY = new InterceptorIndex(ImmutableList.of());
+
+  /** Marks classes whose methods couldn't be read, which must be analyzed the slow way. */
+  private static final ImmutableSet<Class<? extends Annotation>> UNREADABLE =
+      ImmutableSet.of(Annotation.class);
+
+  /**
+   * The annotation types on the methods a class declares or inherits, from its superclasses and
+   * interfaces.
+   */
+  private static final ClassValue<ImmutableSet<Class<? extends Annotation>>> METHOD_ANNOTATIONS =
+      new ClassValue<ImmutableSet<Class<? extends Annotation>>>() {
+        @Override
+        protected ImmutableSet<Class<? extends Annotation>> computeValue(Class<?> type) {
+          ImmutableSet.Builder<Class<? extends Annotation>> annotations = ImmutableSet.builder();
+          try {
+            for (Method method : type.getDeclaredMethods()) {
+              for (Annotation annotation : method.getDeclaredAnnotations()) {
+                annotations.add(annotation.annotationType());
+              }
+            }
+          } catch (LinkageError e) {
+            return UNREADABLE;
+          }
+          if (type.getSuperclass() != null && !addInherited(annotations, type.getSuperclass())) {
+            return UNREADABLE;
+          }
+          for (Class<?> implemented : type.getInterfaces()) {
+            if (!addInherited(annotations, implemented)) {
+              return UNREADABLE;
+            }
+          }
+          return annotations.build();
+        }
+
+        private boolean addInherited(
+            ImmutableSet.Builder<Class<? extends Annotation>> annotations, Class<?> supertype) {
+          ImmutableSet<Class<? extends Annotation>> inherited = get(supertype);
+          annotations.addAll(inherited);
+          return inherited != UNREADABLE;
+        }
+      };
+
+  private final ImmutableList<MethodAspect> aspects;
+
+  /** Aspects whose method matcher may match a method without annotations. */
+  private final BitSet unconstrained = new BitSet();
+
+  /** Aspects whose method matcher requires one of the key annotations, by index. */
+  private final ImmutableSetMultimap<Class<? extends Annotation>, Integer> byMethodAnnotation;
+
+  InterceptorIndex(List<MethodAspect> aspects) {
+    this.aspects = ImmutableList.copyOf(aspects);
+    ImmutableSetMultimap.Builder<Class<? extends Annotation>, Integer> byMethodAnnotation =
+        ImmutableSetMultimap.builder();
+    for (int i = 0; i < this.aspects.size(); i++) {
+      Set<Class<? extends Annotation>> required =
+          Matchers.requiredAnnotations(GUICE_INTERNAL, this.aspects.get(i).methodMatcher());
+      if (required == null) {
+        unconstrained.set(i);
+      } else {
+        for (Class<? extends Annotation> annotationType : required) {
+          byMethodAnnotation.put(annotationType, i);
+        }
+      }
+    }
+    this.byMethodAnnotation = byMethodAnnotation.build();
+  }
+
+  /** Returns the number of indexed aspects. */
+  int size() {
+    return aspects.size();
+  }
+
+  /**
+   * Returns the aspects that may intercept a method of {@code hostClass}, in binding order: those
+   * whose class matcher matches and whose method matcher either isn't indexed or requires an
+   * annotation present on one of the class's methods.
+   */
+  List<MethodAspect> applicableAspects(Class<?> hostClass) {
+    if (aspects.isEmpty()) {
+      return ImmutableList.of();
+    }
+    BitSet candidates = (BitSet) unconstrained.clone();
+    if (!byMethodAnnotation.isEmpty()) {
+      ImmutableSet<Class<? extends Annotation>> methodAnnotations =
+          METHOD_ANNOTATIONS.get(hostClass);
+      if (methodAnnotations == UNREADABLE) {
+        candidates.set(0, aspects.size());
+      } else {
+        for (Class<? extends Annotation> annotationType : methodAnnotations) {
+          for (int i : byMethodAnnotation.get(annotationType)) {
+            candidates.set(i);
+          }
+        }
+      }
+    }
+    if (candidates.isEmpty()) {
+      return ImmutableList.of();
+    }
+    ImmutableList.Builder<MethodAspect> applicable = ImmutableList.builder();
+    for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+      MethodAspect aspect = aspects.get(i);
+      if (aspect.matches(hostClass)) {
+        applicable.add(aspect);
+      }
+    }
+    return applicable.build();
+  }
+}
@@ -22,6 +22,7 @@ import com.google.common.collect.Lists;
 import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
+import java.util.Arrays;
 import java.util.List;
 import java.util.function.BiFunction;
 import org.aopalliance.intercept.MethodInterceptor;
@@ -32,6 +33,11 @@ import org.aopalliance.intercept.MethodInvocation;
  *
  * <p>Acts as a JDK {@link InvocationHandler} so the proxy using it can avoid Guice-specific types.
  *
+ * <p>Each {@link MethodInvocation} handed to an interceptor is immutable, so it may be proceeded
+ * any number of times, from any thread, and after the interceptor has returned. Stack traces are
+ * pruned as exceptions pass through each level, but only copied when they hold AOP frames, so
+ * levels after the first leave an already pruned trace alone.
+ *
  * @author crazybob@google.com (Bob Lee)
  */
 final class InterceptorStackCallback implements InvocationHandler {
@@ -108,16 +114,27 @@ final class InterceptorStackCallback implements InvocationHandler {
   private void pruneStacktrace(Throwable throwable) {
     for (Throwable t = throwable; t != null; t = t.getCause()) {
       StackTraceElement[] stackTrace = t.getStackTrace();
-      List<StackTraceElement> pruned = Lists.newArrayList();
-      for (StackTraceElement element : stackTrace) {
-        String className = element.getClassName();
-        if (!className.startsWith(InterceptorStackCallback.class.getName())
-            && !className.startsWith(GUICE_INTERNAL_AOP_PACKAGE)
-            && !className.contains(ENHANCER_BY_GUICE_MARKER)) {
-          pruned.add(element);
+      List<StackTraceElement> pruned = null;
+      for (int i = 0; i < stackTrace.length; i++) {
+        if (isInternal(stackTrace[i])) {
+          if (pruned == null) {
+            // only copy the trace once there's something to remove
+            pruned = Lists.newArrayList(Arrays.asList(stackTrace).subList(0, i));
+          }
+        } else if (pruned != null) {
+          pruned.add(stackTrace[i]);
         }
       }
-      t.setStackTrace(pruned.toArray(new StackTraceElement[pruned.size()]));
+      if (pruned != null) {
+        t.setStackTrace(pruned.toArray(new StackTraceElement[pruned.size()]));
+      }
     }
   }
+
+  private static boolean isInternal(StackTraceElement element) {
+    String className = element.getClassName();
+    return className.startsWith(InterceptorStackCallback.class.getName())
+        || className.startsWith(GUICE_INTERNAL_AOP_PACKAGE)
+        || className.contains(ENHANCER_BY_GUICE_MARKER);
+  }
 }
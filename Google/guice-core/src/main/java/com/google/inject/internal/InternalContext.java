@@ -41,6 +41,9 @@ final class InternalContext implements AutoCloseable {
    */
   private int enterCount;
 
+  /** True while a provision recorded in a provision metrics histogram is in progress. */
+  private boolean timingProvision;
+
   /**
    * A single element array to clear when the {@link #enterCount} hits {@code 0}.
    *
@@ -99,4 +102,24 @@ final class InternalContext implements AutoCloseable {
   void setDependency(Dependency<?> dependency) {
     this.dependency = dependency;
   }
+
+  /**
+   * Marks a timed provision as in progress, returning true if one already was. Pass the result to
+   * {@link #exitTimedProvision} when the provision completes.
+   */
+  boolean enterTimedProvision() {
+    boolean enclosing = timingProvision;
+    timingProvision = true;
+    return enclosing;
+  }
+
+  /** Restores the state saved by {@link #enterTimedProvision}. */
+  void exitTimedProvision(boolean enclosing) {
+    timingProvision = enclosing;
+  }
+
+  /** Returns true if a timed provision is in progress. */
+  boolean isTimingProvision() {
+    return timingProvision;
+  }
 }
@@ -44,6 +44,24 @@ public final class InternalFlags {
   private static final ColorizeOption COLORIZE_OPTION =
       getSystemOption("guice_colorize_error_messages", ColorizeOption.OFF);
 
+  private static final String BYTECODE_CACHE_DIR = getSystemProperty("guice_bytecode_cache_dir");
+
+  private static final MemberInjectionOption MEMBER_INJECTION_OPTION =
+      getSystemOption("guice_member_injection_option", MemberInjectionOption.REFLECTION);
+
+  private static final InjectionIndexOption INJECTION_INDEX_OPTION =
+      getSystemOption("guice_injection_index", InjectionIndexOption.ENABLED);
+
+  private static final CompiledProvisioningOption COMPILED_PROVISIONING_OPTION =
+      getSystemOption("guice_compiled_provisioning", CompiledProvisioningOption.DISABLED);
+
+  private static final ParallelModuleConfigurationOption PARALLEL_MODULE_CONFIGURATION_OPTION =
+      getSystemOption(
+          "guice_parallel_module_configuration", ParallelModuleConfigurationOption.DISABLED);
+
+  private static final InjectorCacheOption INJECTOR_CACHE_OPTION =
+      getSystemOption("guice_injector_cache", InjectorCacheOption.STRONG);
+
   /** The options for Guice stack trace collection. */
   public enum IncludeStackTraceOption {
     /** No stack trace collection */
@@ -61,8 +79,10 @@ public final class InternalFlags {
     OFF,
 
     /**
-     * Define fast/enhanced types anonymously as hidden nest-mates, never creates class loaders.
-     * This is faster than regular class loading and the resulting classes are easier to unload.
+     * Define fast/enhanced types anonymously as hidden nest-mates, which can be unloaded as soon as
+     * they're unreachable. This is faster than regular class loading and never creates class
+     * loaders, except for types Guice has no full privilege access to, which fall back to {@link
+     * #BRIDGE}.
      *
      * <p>Note: with this option you cannot look up fast/enhanced types by name or mock/spy them.
      */
@@ -117,6 +137,89 @@ public final class InternalFlags {
     ENABLED,
   }
 
+  /**
+   * Options for how Guice sets injectable fields, and invokes injectable methods when bytecode
+   * generation is disabled or fails for a method. (Method injection uses generated fast classes
+   * whenever {@link BytecodeGenOption} is {@code ENABLED}.)
+   */
+  public enum MemberInjectionOption {
+    /** Core reflection: {@code Field.set} and {@code Method.invoke}. (Default) */
+    REFLECTION,
+    /**
+     * Method handles, created once per member and shared across injectors. Members that can't be
+     * unreflected fall back to core reflection.
+     */
+    METHOD_HANDLES,
+  }
+
+  /**
+   * Options for controlling whether injection point and {@code @Provides} method scanning consults
+   * the build-time {@link InjectionIndex} before reflecting over a class.
+   */
+  public enum InjectionIndexOption {
+    /** Index files are ignored and every class is scanned reflectively. */
+    DISABLED,
+    /** Index files found on the class path are used where they cover a class. (Default) */
+    ENABLED,
+  }
+
+  /**
+   * Options for controlling whether constructor bindings are provisioned through compiled plans
+   * that construct their unscoped dependencies directly (see {@link ProvisionPlans}).
+   */
+  public enum CompiledProvisioningOption {
+    /** Every dependency is provisioned through its binding's factory. (Default) */
+    DISABLED,
+    /**
+     * Plans are compiled when the injector is created, or on first use for just-in-time bindings.
+     */
+    ENABLED,
+  }
+
+  /**
+   * Options for controlling whether the top-level modules of an injector are configured
+   * concurrently when their elements are recorded (see {@link com.google.inject.spi.Elements}).
+   */
+  public enum ParallelModuleConfigurationOption {
+    /** Modules are configured one by one on the thread creating the injector. (Default) */
+    DISABLED,
+    /**
+     * Top-level modules are configured concurrently on the common fork/join pool, and their
+     * elements merged in declaration order. Binding source restrictions are then checked while
+     * the injector options are processed. Modules must be safe to configure concurrently, and are
+     * configured with the context class loader of the thread creating the injector.
+     *
+     * <p><strong>A module that installs a module already installed by an earlier top-level module,
+     * or that registers a {@link com.google.inject.spi.ModuleAnnotatedMethodScanner}, is configured
+     * a second time</strong> on the creating thread, so its {@code configure} method (and those of
+     * the modules it installs) runs twice. Only enable this for modules without side effects
+     * outside the binder.
+     */
+    ENABLED,
+  }
+
+  /**
+   * Options for how an injector's caches of members injectors and constructor injectors hold their
+   * entries.
+   */
+  public enum InjectorCacheOption {
+    /** Entries are kept until the injector is collected. (Default) */
+    STRONG,
+    /**
+     * Entries are held weakly and dropped during later lookups once nothing outside the cache uses
+     * them, so that classes only reachable through the cache, such as those of a redeployed plugin
+     * that were only passed to {@code injectMembers}, can be unloaded. Classes that still have
+     * just-in-time bindings in the injector stay reachable.
+     *
+     * <p>A dropped entry is created again if it's needed later, so {@link
+     * com.google.inject.spi.TypeListener type listeners} hear its type again and register their
+     * members injectors, injection listeners and interceptors afresh. Only use this where every
+     * type listener tolerates hearing a type more than once, for example by not counting or
+     * collecting the types it hears.
+     */
+    WEAK,
+  }
+
   /** Options for enable or disable using ansi color in error messages. */
   public enum ColorizeOption {
     AUTO {
@@ -157,10 +260,60 @@ public final class InternalFlags {
     return BYTECODE_GEN_OPTION == BytecodeGenOption.ENABLED;
   }
 
+  public static boolean useMethodHandlesForMemberInjection() {
+    return MEMBER_INJECTION_OPTION == MemberInjectionOption.METHOD_HANDLES;
+  }
+
+  public static boolean isInjectionIndexEnabled() {
+    return INJECTION_INDEX_OPTION == InjectionIndexOption.ENABLED;
+  }
+
+  public static boolean isCompiledProvisioningEnabled() {
+    return COMPILED_PROVISIONING_OPTION == CompiledProvisioningOption.ENABLED;
+  }
+
+  public static boolean isParallelModuleConfigurationEnabled() {
+    return PARALLEL_MODULE_CONFIGURATION_OPTION == ParallelModuleConfigurationOption.ENABLED;
+  }
+
+  public static boolean useWeakInjectorCaches() {
+    return INJECTOR_CACHE_OPTION == InjectorCacheOption.WEAK;
+  }
+
+  /**
+   * Returns the directory named by {@code guice_bytecode_cache_dir} in which generated enhancer and
+   * fast-class bytecode is kept between runs, or null if no such cache should be used.
+   */
+  public static String getBytecodeCacheDirectory() {
+    return BYTECODE_CACHE_DIR;
+  }
+
   public static boolean enableColorizeErrorMessages() {
     return COLORIZE_OPTION.enabled();
   }
 
+  /**
+   * Gets the system property indicated by the specified key; runs as a privileged action.
+   *
+   * @param name of the system property
+   * @return value of the property, null if not set, empty, or not accessible
+   */
+  private static String getSystemProperty(final String name) {
+    try {
+      String value =
+          AccessController.doPrivileged(
+              new PrivilegedAction<String>() {
+                @Override
+                public String run() {
+                  return System.getProperty(name);
+                }
+              });
+      return (value != null && value.length() > 0) ? value : null;
+    } catch (SecurityException e) {
+      return null;
+    }
+  }
+
   /**
    * Gets the system option indicated by the specified key; runs as a privileged action.
    *
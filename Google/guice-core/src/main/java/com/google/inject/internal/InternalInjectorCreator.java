@@ -17,9 +17,11 @@
 package com.google.inject.internal;
 
 import com.google.common.base.Stopwatch;
+import com.google.common.collect.ImmutableMap;
 import com.google.inject.Binding;
 import com.google.inject.Injector;
 import com.google.inject.Key;
+import com.google.inject.KeySet;
 import com.google.inject.MembersInjector;
 import com.google.inject.Module;
 import com.google.inject.Provider;
@@ -32,11 +34,13 @@ import com.google.inject.spi.Element;
 import com.google.inject.gee.InjectionPoint;
 import com.google.inject.spi.TypeConverterBinding;
 import java.lang.annotation.Annotation;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executor;
 
 /**
  * Builds a tree of injectors. This is a primary injector, plus child injectors needed for each
@@ -129,6 +133,7 @@ public final class InternalInjectorCreator {
 
     for (InjectorShell shell : shells) {
       shell.getInjector().getBindingData().indexBindingsByType();
+      shell.getInjector().getBindingData().compactExplicitBindings();
     }
     stopwatch.resetAndLog("Binding indexing");
 
@@ -164,6 +169,22 @@ public final class InternalInjectorCreator {
     errors.throwCreationExceptionIfErrorsExist();
   }
 
+  /**
+   * Returns the implementation behind {@code injector}, looking through the wrapper used in {@link
+   * Stage#TOOL}.
+   *
+   * @throws IllegalArgumentException if {@code injector} wasn't created by Guice
+   */
+  static InjectorImpl injectorImpl(Injector injector) {
+    if (injector instanceof ToolStageInjector) {
+      injector = ((ToolStageInjector) injector).delegateInjector;
+    }
+    if (!(injector instanceof InjectorImpl)) {
+      throw new IllegalArgumentException("Not an injector created by Guice: " + injector);
+    }
+    return (InjectorImpl) injector;
+  }
+
   /** Returns the injector being constructed. This is not necessarily the root injector. */
   private Injector primaryInjector() {
     return shells.get(0).getInjector();
@@ -183,12 +204,38 @@ public final class InternalInjectorCreator {
     errors.throwCreationExceptionIfErrorsExist();
 
     if (shellBuilder.getStage() != Stage.TOOL) {
+      if (InternalFlags.isCompiledProvisioningEnabled()) {
+        for (InjectorShell shell : shells) {
+          compileProvisionPlans(shell.getInjector());
+        }
+        stopwatch.resetAndLog("Compiling provisioning plans");
+      }
       for (InjectorShell shell : shells) {
         loadEagerSingletons(shell.getInjector(), shellBuilder.getStage(), errors);
       }
       stopwatch.resetAndLog("Preloading singletons");
     }
     errors.throwCreationExceptionIfErrorsExist();
+
+    ImmutableMap<String, Duration> phaseTimes = stopwatch.getLaps();
+    for (InjectorShell shell : shells) {
+      shell.getInjector().stats.recordPhaseTimes(phaseTimes);
+    }
+  }
+
+  /** Compiles the provisioning plans of the constructor bindings known so far, before first use. */
+  private void compileProvisionPlans(InjectorImpl injector) {
+    List<Binding<?>> bindings =
+        new ArrayList<>(injector.getBindingData().getExplicitBindingsThisLevel().values());
+    synchronized (injector.getJitBindingData().lock()) {
+      // jit bindings must be accessed while holding the lock.
+      bindings.addAll(injector.getJitBindingData().getJitBindings().values());
+    }
+    for (Binding<?> binding : bindings) {
+      if (binding instanceof ConstructorBindingImpl) {
+        ((ConstructorBindingImpl<?>) binding).compileProvisionPlan();
+      }
+    }
   }
 
   /**
@@ -205,17 +252,28 @@ public final class InternalInjectorCreator {
       // jit bindings must be accessed while holding the lock.
       candidateBindings.addAll(injector.getJitBindingData().getJitBindings().values());
     }
+    List<BindingImpl<?>> eagerBindings = new ArrayList<>();
+    for (BindingImpl<?> binding : candidateBindings) {
+      if (isEagerSingleton(injector, binding, stage)) {
+        eagerBindings.add(binding);
+      }
+    }
+    Executor executor = injector.options.singletonPreloadExecutor;
+    if (executor != null && eagerBindings.size() > 1) {
+      new ParallelSingletonPreloader(injector, eagerBindings, executor).preload(errors);
+      return;
+    }
     InternalContext context = injector.enterContext();
     try {
-      for (BindingImpl<?> binding : candidateBindings) {
-        if (isEagerSingleton(injector, binding, stage)) {
-          Dependency<?> dependency = Dependency.get(binding.getKey());
-          try {
-            binding.getInternalFactory().get(context, dependency, false);
-          } catch (InternalProvisionException e) {
-            errors.withSource(dependency).merge(e);
-          }
+      for (BindingImpl<?> binding : eagerBindings) {
+        Dependency<?> dependency = Dependency.get(binding.getKey());
+        long start = System.nanoTime();
+        try {
+          binding.getInternalFactory().get(context, dependency, false);
+        } catch (InternalProvisionException e) {
+          errors.withSource(dependency).merge(e);
         }
+        injector.stats.recordEagerSingleton(binding.getKey(), System.nanoTime() - start);
       }
     } finally {
       context.close();
@@ -330,6 +388,18 @@ public final class InternalInjectorCreator {
           "Injector.getProvider(Class<T>) is not supported in Stage.TOOL");
     }
 
+    @Override
+    public Map<Key<?>, Object> getInstances(Iterable<? extends Key<?>> keys) {
+      throw new UnsupportedOperationException(
+          "Injector.getInstances(Iterable<Key<?>>) is not supported in Stage.TOOL");
+    }
+
+    @Override
+    public KeySet getKeySet(Iterable<? extends Key<?>> keys) {
+      throw new UnsupportedOperationException(
+          "Injector.getKeySet(Iterable<Key<?>>) is not supported in Stage.TOOL");
+    }
+
     @Override
     public <T> MembersInjector<T> getMembersInjector(TypeLiteral<T> typeLiteral) {
       throw new UnsupportedOperationException(
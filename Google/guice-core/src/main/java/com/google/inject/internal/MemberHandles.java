@@ -0,0 +1,119 @@
+package com.google.inject.internal;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Method handles for injecting fields and methods without core reflection, so member injection
+ * stays close to direct-call speed when bytecode generation is disabled. Handles are created once
+ * per member and shared by every injector.
+ *
+ * <p>All handles are adapted to an erased shape (see {@link #FIELD_SETTER} and {@link
+ * #METHOD_INVOKER}) so that callers can use {@code invokeExact}. Static members ignore the target.
+ *
+ * @see InternalFlags.MemberInjectionOption
+ */
+final class MemberHandles {
+
+  /** {@code (Object target, Object value) -> void} */
+  static final MethodType FIELD_SETTER =
+      MethodType.methodType(void.class, Object.class, Object.class);
+
+  /** {@code (Object target, Object[] parameters) -> Object} */
+  static final MethodType METHOD_INVOKER =
+      MethodType.methodType(Object.class, Object.class, Object[].class);
+
+  private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+  /**
+   * Handles by member, kept with the declaring class so they're unloaded together. Members that
+   * can't be unreflected are remembered as empty, so each is only attempted once.
+   */
+  private static final ClassValue<Map<Member, Optional<MethodHandle>>> HANDLES =
+      new ClassValue<Map<Member, Optional<MethodHandle>>>() {
+        @Override
+        protected Map<Member, Optional<MethodHandle>> computeValue(Class<?> declaringClass) {
+          return new ConcurrentHashMap<>();
+        }
+      };
+
+  private MemberHandles() {}
+
+  /**
+   * Returns a {@link #FIELD_SETTER} handle for {@code field}, or null if one can't be created (in
+   * which case the caller should fall back to reflection).
+   */
+  static MethodHandle setterFor(Field field) {
+    if (!InternalFlags.useMethodHandlesForMemberInjection()) {
+      return null;
+    }
+    return setter(field);
+  }
+
+  /**
+   * Returns a {@link #FIELD_SETTER} handle for {@code field} whatever the member injection option,
+   * or null if one can't be created. For callers such as {@link ProvisionPlans} that can only work
+   * with handles.
+   */
+  static MethodHandle setter(Field field) {
+    return HANDLES
+        .get(field.getDeclaringClass())
+        .computeIfAbsent(field, member -> Optional.ofNullable(createSetter(field)))
+        .orElse(null);
+  }
+
+  /**
+   * Returns a {@link #METHOD_INVOKER} handle for {@code method}, or null if one can't be created
+   * (in which case the caller should fall back to reflection).
+   */
+  static MethodHandle invokerFor(Method method) {
+    if (!InternalFlags.useMethodHandlesForMemberInjection()) {
+      return null;
+    }
+    return HANDLES
+        .get(method.getDeclaringClass())
+        .computeIfAbsent(method, member -> Optional.ofNullable(createInvoker(method)))
+        .orElse(null);
+  }
+
+  private static MethodHandle createSetter(Field field) {
+    MethodHandle setter;
+    try {
+      field.setAccessible(true);
+      setter = LOOKUP.unreflectSetter(field);
+    } catch (IllegalAccessException | RuntimeException e) {
+      return null; // static final fields, or a package that isn't open to us
+    }
+    if (Modifier.isStatic(field.getModifiers())) {
+      setter = MethodHandles.dropArguments(setter, 0, Object.class);
+    }
+    return setter.asType(FIELD_SETTER);
+  }
+
+  private static MethodHandle createInvoker(Method method) {
+    MethodHandle invoker;
+    try {
+      invoker = LOOKUP.unreflect(method);
+    } catch (IllegalAccessException e) {
+      // not public or not exported to us; suppress access checks as reflection would have to
+      try {
+        method.setAccessible(true);
+        invoker = LOOKUP.unreflect(method);
+      } catch (IllegalAccessException | RuntimeException inaccessible) {
+        return null;
+      }
+    }
+    if (Modifier.isStatic(method.getModifiers())) {
+      invoker = MethodHandles.dropArguments(invoker, 0, Object.class);
+    }
+    return invoker.asSpreader(Object[].class, method.getParameterCount()).asType(METHOD_INVOKER);
+  }
+}
@@ -65,6 +65,11 @@ final class MembersInjectorImpl<T> implements MembersInjector<T> {
     return memberInjectors == null ? ImmutableList.<SingleMemberInjector>of() : memberInjectors;
   }
 
+  /** Returns true if injecting also runs user members injectors or injection listeners. */
+  boolean hasUserMembersInjectorsOrListeners() {
+    return userMembersInjectors != null || injectionListeners != null;
+  }
+
   @Override
   public void injectMembers(T instance) {
     TypeLiteral<T> localTypeLiteral = typeLiteral;
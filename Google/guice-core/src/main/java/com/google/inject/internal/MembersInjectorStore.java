@@ -18,9 +18,11 @@ package com.google.inject.internal;
 
 import static com.google.common.collect.ImmutableListMultimap.flatteningToImmutableListMultimap;
 
+import com.google.common.cache.CacheStats;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableListMultimap;
 import com.google.common.collect.Lists;
+import com.google.common.collect.MapMaker;
 import com.google.common.collect.Sets;
 import com.google.inject.ConfigurationException;
 import com.google.inject.TypeLiteral;
@@ -28,9 +30,11 @@ import com.google.inject.gee.InjectionPoint;
 import com.google.inject.spi.TypeListener;
 import com.google.inject.spi.TypeListenerBinding;
 import java.lang.reflect.Field;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Members injectors by type.
@@ -41,6 +45,27 @@ final class MembersInjectorStore {
   private final InjectorImpl injector;
   private final ImmutableList<TypeListenerBinding> typeListenerBindings;
 
+  /**
+   * The raw types of the types passed to {@link com.google.inject.Injector#getMembersInjector} or
+   * {@link com.google.inject.Injector#injectMembers}. Kept apart from {@link #cache}, whose entries
+   * may be purged or, with {@code -Dguice_injector_cache=WEAK}, collected, and held weakly so that
+   * a requested type doesn't keep its class from being unloaded.
+   */
+  private final Set<Class<?>> userRequestedRawTypes =
+      Collections.newSetFromMap(new MapMaker().weakKeys().makeMap());
+
+  /**
+   * The requested types of each raw type in {@link #userRequestedRawTypes}. A class value doesn't
+   * keep its class reachable, even though the types refer to it.
+   */
+  private final ClassValue<Set<TypeLiteral<?>>> userRequestedTypes =
+      new ClassValue<Set<TypeLiteral<?>>>() {
+        @Override
+        protected Set<TypeLiteral<?>> computeValue(Class<?> rawType) {
+          return ConcurrentHashMap.newKeySet();
+        }
+      };
+
   private final FailableCache<TypeLiteral<?>, MembersInjectorImpl<?>> cache =
       new FailableCache<TypeLiteral<?>, MembersInjectorImpl<?>>() {
         @Override
@@ -138,8 +163,31 @@ final class MembersInjectorStore {
     return ImmutableList.copyOf(injectors);
   }
 
-  ImmutableListMultimap<TypeLiteral<?>, InjectionPoint> getAllInjectionPoints() {
+  /** Returns the hit, miss and load time statistics of the cache. */
+  CacheStats stats() {
+    return cache.stats();
+  }
+
+  /** Records that the user requested a members injector for {@code type}. */
+  void markUserRequested(TypeLiteral<?> type) {
+    Class<?> rawType = type.getRawType();
+    if (userRequestedTypes.get(rawType).add(type)) {
+      userRequestedRawTypes.add(rawType);
+    }
+  }
+
+  private boolean isUserRequested(TypeLiteral<?> type) {
+    Class<?> rawType = type.getRawType();
+    return userRequestedRawTypes.contains(rawType) && userRequestedTypes.get(rawType).contains(type);
+  }
+
+  /**
+   * Returns the injection points of the members injectors the user has requested from the injector,
+   * by type.
+   */
+  ImmutableListMultimap<TypeLiteral<?>, InjectionPoint> getUserRequestedInjectionPoints() {
     return cache.asMap().entrySet().stream()
+        .filter(entry -> isUserRequested(entry.getKey()))
         .collect(
             flatteningToImmutableListMultimap(
                 Entry::getKey, entry -> entry.getValue().getInjectionPoints().stream()));
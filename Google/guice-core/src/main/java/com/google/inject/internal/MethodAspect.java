@@ -72,6 +72,10 @@ final class MethodAspect {
     return methodMatcher.matches(method);
   }
 
+  Matcher<? super Method> methodMatcher() {
+    return methodMatcher;
+  }
+
   List<MethodInterceptor> interceptors() {
     return interceptors;
   }
@@ -0,0 +1,207 @@
+package com.google.inject.internal;
+
+import com.google.inject.Key;
+import com.google.inject.spi.Dependency;
+import com.google.inject.spi.HasDependencies;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Creates the eager singletons of one injector concurrently on an {@link Executor}.
+ *
+ * <p>The dependencies declared by each binding are walked (through any non-eager bindings in
+ * between) to find which other eager singletons it needs, and each singleton is only submitted once
+ * those have been created. This is purely a scheduling aid: {@link SingletonScope} still guards
+ * every instance, so an undeclared dependency (say, an {@code Injector.getInstance()} call in a
+ * constructor) only makes one task wait for another. Singletons in a dependency cycle, and any
+ * that the executor refused to run, are created afterwards on the calling thread in declaration
+ * order.
+ *
+ * <p>Errors are merged in declaration order once every singleton has been attempted, so the
+ * resulting {@code CreationException} doesn't depend on thread timing.
+ */
+final class ParallelSingletonPreloader {
+
+  private final InjectorImpl injector;
+  private final List<BindingImpl<?>> bindings;
+  private final Executor executor;
+
+  private final InternalProvisionException[] provisionErrors;
+  private final Throwable[] unexpectedErrors;
+  private final boolean[] loaded;
+
+  /** Eager singletons reachable from each non-eager key, for walking shared dependencies once. */
+  private final Map<Key<?>, BitSet> reachableByKey = new HashMap<>();
+
+  ParallelSingletonPreloader(
+      InjectorImpl injector, List<BindingImpl<?>> bindings, Executor executor) {
+    this.injector = injector;
+    this.bindings = bindings;
+    this.executor = executor;
+    this.provisionErrors = new InternalProvisionException[bindings.size()];
+    this.unexpectedErrors = new Throwable[bindings.size()];
+    this.loaded = new boolean[bindings.size()];
+  }
+
+  /** Creates every singleton, then records failures in {@code errors}. */
+  void preload(Errors errors) {
+    int size = bindings.size();
+    Map<Key<?>, Integer> indexByKey = new HashMap<>();
+    for (int i = 0; i < size; i++) {
+      indexByKey.putIfAbsent(bindings.get(i).getKey(), i);
+    }
+
+    // Kahn's algorithm: submit each singleton once everything it depends on has been submitted.
+    List<List<Integer>> dependents = new ArrayList<>(size);
+    List<BitSet> dependencies = new ArrayList<>(size);
+    int[] pending = new int[size];
+    for (int i = 0; i < size; i++) {
+      dependents.add(new ArrayList<>());
+    }
+    for (int i = 0; i < size; i++) {
+      BitSet required = new BitSet();
+      collectEagerDependencies(bindings.get(i), indexByKey, required, new HashSet<>());
+      required.clear(i);
+      dependencies.add(required);
+      pending[i] = required.cardinality();
+      for (int j = required.nextSetBit(0); j >= 0; j = required.nextSetBit(j + 1)) {
+        dependents.get(j).add(i);
+      }
+    }
+
+    List<CompletableFuture<Void>> futures = new ArrayList<>(Collections.nCopies(size, null));
+    Deque<Integer> ready = new ArrayDeque<>();
+    for (int i = 0; i < size; i++) {
+      if (pending[i] == 0) {
+        ready.add(i);
+      }
+    }
+    List<CompletableFuture<Void>> submitted = new ArrayList<>(size);
+    while (!ready.isEmpty()) {
+      int index = ready.poll();
+      CompletableFuture<Void> future = submit(index, dependencies.get(index), futures);
+      futures.set(index, future);
+      submitted.add(future);
+      for (int dependent : dependents.get(index)) {
+        if (--pending[dependent] == 0) {
+          ready.add(dependent);
+        }
+      }
+    }
+
+    try {
+      CompletableFuture.allOf(submitted.toArray(new CompletableFuture<?>[0])).join();
+    } catch (CompletionException e) {
+      // only rejected submissions fail; those singletons are loaded below.
+    }
+
+    for (int i = 0; i < size; i++) {
+      if (!loaded[i]) {
+        load(i);
+      }
+    }
+
+    for (int i = 0; i < size; i++) {
+      if (provisionErrors[i] != null) {
+        errors.withSource(Dependency.get(bindings.get(i).getKey())).merge(provisionErrors[i]);
+      }
+    }
+    for (Throwable unexpected : unexpectedErrors) {
+      if (unexpected instanceof RuntimeException) {
+        throw (RuntimeException) unexpected;
+      } else if (unexpected instanceof Error) {
+        throw (Error) unexpected;
+      }
+    }
+  }
+
+  private CompletableFuture<Void> submit(
+      int index, BitSet required, List<CompletableFuture<Void>> futures) {
+    Runnable task = () -> load(index);
+    try {
+      if (required.isEmpty()) {
+        return CompletableFuture.runAsync(task, executor);
+      }
+      CompletableFuture<?>[] prerequisites = new CompletableFuture<?>[required.cardinality()];
+      int next = 0;
+      for (int j = required.nextSetBit(0); j >= 0; j = required.nextSetBit(j + 1)) {
+        // a failed prerequisite is retried on the calling thread, so run regardless.
+        prerequisites[next++] = futures.get(j).exceptionally(t -> null);
+      }
+      return CompletableFuture.allOf(prerequisites).thenRunAsync(task, executor);
+    } catch (RejectedExecutionException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+  }
+
+  private void load(int index) {
+    loaded[index] = true;
+    BindingImpl<?> binding = bindings.get(index);
+    InternalContext context = injector.enterContext();
+    long start = System.nanoTime();
+    try {
+      binding.getInternalFactory().get(context, Dependency.get(binding.getKey()), false);
+    } catch (InternalProvisionException e) {
+      provisionErrors[index] = e;
+    } catch (RuntimeException | Error e) {
+      unexpectedErrors[index] = e;
+    } finally {
+      injector.stats.recordEagerSingleton(binding.getKey(), System.nanoTime() - start);
+      context.close();
+    }
+  }
+
+  /**
+   * Adds to {@code result} every eager singleton that {@code binding} depends on, looking through
+   * bindings that aren't eager singletons themselves.
+   */
+  private void collectEagerDependencies(
+      BindingImpl<?> binding, Map<Key<?>, Integer> indexByKey, BitSet result, Set<Key<?>> visiting) {
+    if (!(binding instanceof HasDependencies)) {
+      return;
+    }
+    for (Dependency<?> dependency : ((HasDependencies) binding).getDependencies()) {
+      Key<?> key = dependency.getKey();
+      Integer index = indexByKey.get(key);
+      if (index != null) {
+        result.set(index);
+        continue;
+      }
+      BitSet reachable = reachableByKey.get(key);
+      if (reachable == null) {
+        if (!visiting.add(key)) {
+          continue; // cycle through non-eager bindings; the singletons involved are found elsewhere
+        }
+        reachable = new BitSet();
+        BindingImpl<?> dependencyBinding = existingBinding(key);
+        if (dependencyBinding != null) {
+          collectEagerDependencies(dependencyBinding, indexByKey, reachable, visiting);
+        }
+        visiting.remove(key);
+        reachableByKey.put(key, reachable);
+      }
+      result.or(reachable);
+    }
+  }
+
+  private BindingImpl<?> existingBinding(Key<?> key) {
+    try {
+      return injector.getExistingBinding(key);
+    } catch (RuntimeException e) {
+      // the dependency is reported when the singleton is created; it just can't be scheduled.
+      return null;
+    }
+  }
+}
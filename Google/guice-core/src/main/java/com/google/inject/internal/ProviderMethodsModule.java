@@ -40,6 +40,7 @@ import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Creates bindings to methods annotated with {@literal @}{@link Provides}. Use the scope and
@@ -113,8 +114,17 @@ public final class ProviderMethodsModule implements Module {
     List<MethodAndAnnotation> methodsAndAnnotations = null;
     // The highest class in the type hierarchy that contained a provider method definition.
     Class<?> superMostClass = getDelegateModuleClass();
+    Set<? extends Class<? extends Annotation>> annotationClasses = scanner.annotationClasses();
     for (Class<?> c = superMostClass; c != Object.class && c != null; c = c.getSuperclass()) {
+      // with a build-time index, only methods that carry one of the scanner's annotations are read
+      InjectionIndex index = InjectionIndex.forClass(c);
+      if (index != null && !index.hasMethodAnnotatedWithAny(annotationClasses)) {
+        continue;
+      }
       for (Method method : DeclaredMembers.getDeclaredMethods(c)) {
+        if (index != null && !index.mayBeAnnotatedWithAny(method, annotationClasses)) {
+          continue;
+        }
         Annotation annotation = getAnnotation(binder, method);
         if (annotation != null) {
           if (isStaticModule()
@@ -0,0 +1,143 @@
+package com.google.inject.internal;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A concurrent histogram of provision times in nanoseconds, cheap enough to record every
+ * provision.
+ *
+ * <p>Times are counted in log-linear buckets: four per power of two, so every recorded time is
+ * within 12.5% of its bucket's midpoint, up to about half an hour. Counts are striped by thread to
+ * keep concurrent provisions off each other's cache lines. A stripe is allocated the first time a
+ * thread mapping to it records, and recording allocates nothing after that.
+ */
+final class ProvisionHistogram {
+
+  /** Sub-buckets per power of two, as a number of bits. */
+  private static final int SUB_BUCKET_BITS = 2;
+
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+  /** Highest power of two with its own buckets; longer times share the last bucket. */
+  private static final int MAX_EXPONENT = 40;
+
+  private static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) << SUB_BUCKET_BITS;
+
+  /** Slots after the buckets in each stripe. */
+  private static final int SUM = BUCKETS;
+
+  private static final int MIN = BUCKETS + 1;
+  private static final int MAX = BUCKETS + 2;
+  private static final int SLOTS = BUCKETS + 3;
+
+  private static final int STRIPES =
+      Math.min(Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1), 16);
+
+  private final AtomicReferenceArray<AtomicLongArray> stripes =
+      new AtomicReferenceArray<>(STRIPES);
+
+  /** Records one provision that took {@code nanos}. */
+  void record(long nanos) {
+    if (nanos < 0) {
+      nanos = 0; // System.nanoTime() isn't guaranteed to be monotonic on every platform
+    }
+    AtomicLongArray stripe = stripe();
+    stripe.getAndIncrement(bucket(nanos));
+    stripe.getAndAdd(SUM, nanos);
+    if (nanos < stripe.get(MIN)) {
+      stripe.accumulateAndGet(MIN, nanos, Math::min);
+    }
+    if (nanos > stripe.get(MAX)) {
+      stripe.accumulateAndGet(MAX, nanos, Math::max);
+    }
+  }
+
+  private AtomicLongArray stripe() {
+    int hash = (int) Thread.currentThread().getId() * 0x9E3779B9;
+    int index = (hash ^ (hash >>> 16)) & (STRIPES - 1);
+    AtomicLongArray stripe = stripes.get(index);
+    if (stripe == null) {
+      AtomicLongArray created = new AtomicLongArray(SLOTS);
+      created.set(MIN, Long.MAX_VALUE);
+      stripe = stripes.compareAndExchange(index, null, created);
+      if (stripe == null) {
+        stripe = created;
+      }
+    }
+    return stripe;
+  }
+
+  /**
+   * Returns the sum, minimum and maximum of the recorded times, followed by a (time, count) pair for
+   * each bucket that has been recorded in, in increasing order of time. Each bucket's time is its
+   * midpoint, kept within the minimum and maximum. Concurrent recordings may be partially included.
+   */
+  long[] snapshot() {
+    long[] totals = new long[SLOTS];
+    totals[MIN] = Long.MAX_VALUE;
+    for (int i = 0; i < STRIPES; i++) {
+      AtomicLongArray stripe = stripes.get(i);
+      if (stripe == null) {
+        continue;
+      }
+      for (int slot = 0; slot <= SUM; slot++) {
+        totals[slot] += stripe.get(slot);
+      }
+      totals[MIN] = Math.min(totals[MIN], stripe.get(MIN));
+      totals[MAX] = Math.max(totals[MAX], stripe.get(MAX));
+    }
+    int recordedBuckets = 0;
+    for (int bucket = 0; bucket < BUCKETS; bucket++) {
+      if (totals[bucket] != 0) {
+        recordedBuckets++;
+      }
+    }
+    long min = recordedBuckets == 0 ? 0 : totals[MIN];
+    long max = totals[MAX];
+    long[] snapshot = new long[3 + recordedBuckets * 2];
+    snapshot[0] = totals[SUM];
+    snapshot[1] = min;
+    snapshot[2] = max;
+    int next = 3;
+    for (int bucket = 0; bucket < BUCKETS; bucket++) {
+      if (totals[bucket] != 0) {
+        snapshot[next++] = Math.max(min, Math.min(max, midpoint(bucket)));
+        snapshot[next++] = totals[bucket];
+      }
+    }
+    return snapshot;
+  }
+
+  /** Returns the bucket {@code nanos} is counted in. */
+  private static int bucket(long nanos) {
+    if (nanos < SUB_BUCKETS) {
+      return (int) nanos;
+    }
+    int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+    if (exponent > MAX_EXPONENT) {
+      return BUCKETS - 1;
+    }
+    int subBucket = (int) (nanos >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+    return ((exponent - SUB_BUCKET_BITS + 1) << SUB_BUCKET_BITS) + subBucket;
+  }
+
+  /** Returns the smallest time counted in {@code bucket}. */
+  private static long lowerBound(int bucket) {
+    if (bucket < SUB_BUCKETS) {
+      return bucket;
+    }
+    int exponent = (bucket >>> SUB_BUCKET_BITS) + SUB_BUCKET_BITS - 1;
+    long subBucket = bucket & (SUB_BUCKETS - 1);
+    return (SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS);
+  }
+
+  /** Returns the time that stands for every time counted in {@code bucket}. */
+  private static long midpoint(int bucket) {
+    if (bucket < SUB_BUCKETS) {
+      return bucket;
+    }
+    long width = 1L << ((bucket >>> SUB_BUCKET_BITS) - 1);
+    return lowerBound(bucket) + width / 2;
+  }
+}
@@ -26,10 +26,12 @@ import com.google.inject.Binding;
 import com.google.inject.Injector;
 import com.google.inject.Key;
 import com.google.inject.Stage;
+import com.google.inject.spi.InstanceBinding;
 import com.google.inject.spi.ProvisionListener;
 import com.google.inject.spi.ProvisionListenerBinding;
 import java.util.List;
 import java.util.logging.Logger;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * {@link ProvisionListenerStackCallback} for each key.
@@ -44,6 +46,7 @@ final class ProvisionListenerCallbackStore {
       ImmutableSet.of(Key.get(Injector.class), Key.get(Stage.class), Key.get(Logger.class));
 
   private final ImmutableList<ProvisionListenerBinding> listenerBindings;
+  @Nullable private final ProvisionMetricsRecorder metrics;
 
   private final LoadingCache<KeyBinding, ProvisionListenerStackCallback<?>> cache =
       CacheBuilder.newBuilder()
@@ -55,13 +58,15 @@ final class ProvisionListenerCallbackStore {
                 }
               });
 
-  ProvisionListenerCallbackStore(List<ProvisionListenerBinding> listenerBindings) {
+  ProvisionListenerCallbackStore(
+      List<ProvisionListenerBinding> listenerBindings, @Nullable ProvisionMetricsRecorder metrics) {
     this.listenerBindings = ImmutableList.copyOf(listenerBindings);
+    this.metrics = metrics;
   }
 
   /**
    * Returns a new {@link ProvisionListenerStackCallback} for the key or {@code null} if there are
-   * no listeners
+   * no listeners and no provision metrics to record
    */
   @SuppressWarnings(
       "unchecked") // the ProvisionListenerStackCallback type always agrees with the passed type
@@ -71,7 +76,7 @@ final class ProvisionListenerCallbackStore {
       ProvisionListenerStackCallback<T> callback =
           (ProvisionListenerStackCallback<T>)
               cache.getUnchecked(new KeyBinding(binding.getKey(), binding));
-      return callback.hasListeners() ? callback : null;
+      return callback.isActive() ? callback : null;
     }
     return null;
   }
@@ -86,6 +91,9 @@ final class ProvisionListenerCallbackStore {
    * <p>Returns true if the type was stored in the cache, false otherwise.
    */
   boolean remove(Binding<?> type) {
+    if (metrics != null) {
+      metrics.remove(type.getKey());
+    }
     return cache.asMap().remove(type) != null;
   }
 
@@ -102,12 +110,18 @@ final class ProvisionListenerCallbackStore {
         listeners.addAll(provisionBinding.getListeners());
       }
     }
-    if (listeners == null || listeners.isEmpty()) {
+    // instances are never provisioned, so there is nothing to record for them
+    ProvisionHistogram histogram =
+        metrics == null || binding instanceof InstanceBinding
+            ? null
+            : metrics.histogram(binding.getKey());
+    if ((listeners == null || listeners.isEmpty()) && histogram == null) {
       // Optimization: don't bother constructing the callback if there are
       // no listeners.
       return ProvisionListenerStackCallback.emptyListener();
     }
-    return new ProvisionListenerStackCallback<T>(binding, listeners);
+    return new ProvisionListenerStackCallback<T>(
+        binding, listeners == null ? ImmutableList.of() : listeners, histogram);
   }
 
   /** A struct that holds key and binding but uses just key for equality/hashcode. */
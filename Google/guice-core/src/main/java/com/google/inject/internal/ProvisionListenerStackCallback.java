@@ -22,9 +22,13 @@ import com.google.inject.Binding;
 import com.google.inject.spi.ProvisionListener;
 import java.util.List;
 import java.util.Set;
+import org.jetbrains.annotations.Nullable;
 
 /**
- * Intercepts provisions with a stack of listeners.
+ * Intercepts provisions with a stack of listeners, and records how long they take if the injector
+ * {@link com.google.inject.Binder#recordProvisionMetrics records provision metrics}. Only the
+ * outermost provision of a request is timed, along with every provision of a scoped binding; the
+ * unscoped dependencies provisioned inside them are counted in their parent's time.
  *
  * @author sameb@google.com (Sam Berlin)
  */
@@ -34,18 +38,26 @@ final class ProvisionListenerStackCallback<T> {
 
   @SuppressWarnings({"rawtypes", "unchecked"})
   private static final ProvisionListenerStackCallback<?> EMPTY_CALLBACK =
-      new ProvisionListenerStackCallback(null /* unused, so ok */, ImmutableList.of());
+      new ProvisionListenerStackCallback(null /* unused, so ok */, ImmutableList.of(), null);
 
   private final ProvisionListener[] listeners;
   private final Binding<T> binding;
+  @Nullable private final ProvisionHistogram histogram;
+  private final boolean scoped;
 
   @SuppressWarnings("unchecked")
   public static <T> ProvisionListenerStackCallback<T> emptyListener() {
     return (ProvisionListenerStackCallback<T>) EMPTY_CALLBACK;
   }
 
-  public ProvisionListenerStackCallback(Binding<T> binding, List<ProvisionListener> listeners) {
+  public ProvisionListenerStackCallback(
+      Binding<T> binding,
+      List<ProvisionListener> listeners,
+      @Nullable ProvisionHistogram histogram) {
     this.binding = binding;
+    this.histogram = histogram;
+    this.scoped =
+        binding instanceof BindingImpl && !((BindingImpl<T>) binding).getScoping().isNoScope();
     if (listeners.isEmpty()) {
       this.listeners = EMPTY_LISTENER;
     } else {
@@ -58,8 +70,28 @@ final class ProvisionListenerStackCallback<T> {
     return listeners.length > 0;
   }
 
+  /** Returns true if this has listeners to notify or provision times to record. */
+  public boolean isActive() {
+    return listeners.length > 0 || histogram != null;
+  }
+
   public T provision(InternalContext context, ProvisionCallback<T> callable)
       throws InternalProvisionException {
+    if (histogram == null || (context.isTimingProvision() && !scoped)) {
+      return listeners.length == 0 ? callable.call() : notifyListeners(callable);
+    }
+    boolean enclosing = context.enterTimedProvision();
+    long start = System.nanoTime();
+    try {
+      // without listeners there's no ProvisionInvocation to create, so recording allocates nothing
+      return listeners.length == 0 ? callable.call() : notifyListeners(callable);
+    } finally {
+      histogram.record(System.nanoTime() - start);
+      context.exitTimedProvision(enclosing);
+    }
+  }
+
+  private T notifyListeners(ProvisionCallback<T> callable) throws InternalProvisionException {
     Provision provision = new Provision(callable);
     RuntimeException caught = null;
     try {
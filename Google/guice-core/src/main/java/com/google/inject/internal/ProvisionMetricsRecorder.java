@@ -0,0 +1,107 @@
+package com.google.inject.internal;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The provision histograms of an injector that {@link
+ * com.google.inject.Binder#recordProvisionMetrics records provision metrics}, one per binding.
+ *
+ * <p>Each injector of a tree records its own bindings, including the just-in-time bindings it
+ * creates, so a child injector's histograms are discarded along with it and sibling private
+ * modules never share one. Snapshots also cover the ancestors that record metrics, and the keys
+ * that private modules expose.
+ *
+ * @see com.google.inject.spi.ProvisionMetrics
+ */
+public final class ProvisionMetricsRecorder {
+  @Nullable private final ProvisionMetricsRecorder parent;
+  private final Map<Key<?>, ProvisionHistogram> histograms = new ConcurrentHashMap<>();
+
+  /** The recorders of this injector's private modules, by the keys they expose. */
+  private final Map<Key<?>, ProvisionMetricsRecorder> exposed = new ConcurrentHashMap<>();
+
+  ProvisionMetricsRecorder(@Nullable ProvisionMetricsRecorder parent) {
+    this.parent = parent;
+  }
+
+  /**
+   * Returns the recorder of {@code injector}, or null if it doesn't record provision metrics.
+   *
+   * @throws IllegalArgumentException if {@code injector} wasn't created by Guice
+   */
+  public static ProvisionMetricsRecorder of(Injector injector) {
+    return InternalInjectorCreator.injectorImpl(injector).options.provisionMetrics;
+  }
+
+  /**
+   * Returns a snapshot of every histogram: the sum, minimum and maximum of the recorded times in
+   * nanoseconds, followed by a (time, count) pair for each range of times that has been recorded,
+   * in increasing order of time. Bindings are included from the moment they are initialized, even
+   * before their first provision. Where this injector and an ancestor both have a histogram for a
+   * key, the closest one is used.
+   */
+  public ImmutableMap<Key<?>, long[]> snapshot() {
+    Map<Key<?>, long[]> snapshot = new LinkedHashMap<>();
+    for (ProvisionMetricsRecorder recorder = this; recorder != null; recorder = recorder.parent) {
+      for (Map.Entry<Key<?>, ProvisionHistogram> entry : recorder.histograms.entrySet()) {
+        if (!snapshot.containsKey(entry.getKey())) {
+          snapshot.put(entry.getKey(), entry.getValue().snapshot());
+        }
+      }
+      for (Key<?> key : recorder.exposed.keySet()) {
+        ProvisionHistogram histogram = recorder.find(key);
+        if (histogram != null && !snapshot.containsKey(key)) {
+          snapshot.put(key, histogram.snapshot());
+        }
+      }
+    }
+    return ImmutableMap.copyOf(snapshot);
+  }
+
+  /**
+   * Returns a snapshot of the histogram of {@code key}, laid out as by {@link #snapshot()}, or null
+   * if {@code key} has none.
+   */
+  @Nullable
+  public long[] snapshot(Key<?> key) {
+    for (ProvisionMetricsRecorder recorder = this; recorder != null; recorder = recorder.parent) {
+      ProvisionHistogram histogram = recorder.find(key);
+      if (histogram != null) {
+        return histogram.snapshot();
+      }
+    }
+    return null;
+  }
+
+  /** Returns the histogram of this injector's binding to {@code key}, if it has one. */
+  @Nullable
+  private ProvisionHistogram find(Key<?> key) {
+    ProvisionHistogram histogram = histograms.get(key);
+    if (histogram == null) {
+      ProvisionMetricsRecorder privateRecorder = exposed.get(key);
+      histogram = privateRecorder != null ? privateRecorder.find(key) : null;
+    }
+    return histogram;
+  }
+
+  /** Reads the histogram of {@code key}, exposed by a private module, from its recorder. */
+  void expose(Key<?> key, ProvisionMetricsRecorder privateRecorder) {
+    exposed.put(key, privateRecorder);
+  }
+
+  /** Returns the histogram that provisions of this injector's binding to {@code key} use. */
+  ProvisionHistogram histogram(Key<?> key) {
+    return histograms.computeIfAbsent(key, k -> new ProvisionHistogram());
+  }
+
+  /** Discards the histogram of {@code key}, whose just-in-time binding failed. */
+  void remove(Key<?> key) {
+    histograms.remove(key);
+  }
+}
@@ -0,0 +1,324 @@
+package com.google.inject.internal;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Sets;
+import com.google.inject.spi.Dependency;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.util.Set;
+
+/**
+ * Compiles the provisioning of a constructor binding into a single method handle that resolves
+ * the constructor's parameters and invokes it. Parameters bound to other unscoped constructors
+ * (directly or through linked bindings) are inlined: their constructors are invoked and their
+ * fields set directly by the plan, with no {@link InternalFactory}, {@link ConstructionContext},
+ * or parameter array in between. Everything else (scoped bindings, provider bindings, instances)
+ * is left to its usual factory, so a singleton-rooted plan still creates the singleton only once.
+ *
+ * <p>The JVM turns the handle tree into hidden classes and, once the plan is hot, specializes it
+ * for the bound constructors and setters, so constructing a graph of short-lived objects costs
+ * about what the equivalent hand-written {@code new} expressions would. Enable with {@code
+ * -Dguice_compiled_provisioning=ENABLED}.
+ *
+ * <p>A constructor is only inlined if nothing could observe the difference: it has no provision
+ * listeners, no method interceptors, no user members injectors or injection listeners, and only
+ * field injection points, and nothing it transitively depends on can lead back to it. Scoped and
+ * provider bindings may run arbitrary code, so constructors that depend on them, however
+ * indirectly, are left to their factories too. Each plan root still goes through {@link
+ * ConstructorInjector#construct}, so circular dependencies are detected (and proxied) at the
+ * nearest enclosing root.
+ *
+ * @see InternalFlags.CompiledProvisioningOption
+ */
+final class ProvisionPlans {
+
+  /** Returned for constructors that can't be compiled, which are provisioned as usual. */
+  static final MethodHandle NO_PLAN = MethodHandles.constant(Object.class, null);
+
+  /** Caps the constructors inlined into one plan, so that huge graphs don't make huge handles. */
+  private static final int MAX_INLINED_CONSTRUCTORS = 64;
+
+  /** Caps the constructors visited looking for a cycle, beyond which one is assumed. */
+  private static final int MAX_CHECKED_CONSTRUCTORS = 256;
+
+  /** {@code (InternalContext) -> Object} */
+  private static final MethodType PLAN = MethodType.methodType(Object.class, InternalContext.class);
+
+  private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+  /** {@code (InternalFactory, Dependency, InternalContext) -> Object} */
+  private static final MethodHandle PROVIDE;
+
+  /** {@code (Object source, InternalProvisionException) -> Object}, always throws */
+  private static final MethodHandle ADD_SOURCE;
+
+  /** {@code (Object source, Throwable) -> Object}, always throws */
+  private static final MethodHandle CONSTRUCTOR_FAILED;
+
+  /** {@code (Object instance, InternalContext) -> Object}, returning the instance */
+  private static final MethodHandle INSTANCE =
+      MethodHandles.dropArguments(MethodHandles.identity(Object.class), 1, InternalContext.class);
+
+  static {
+    try {
+      PROVIDE =
+          LOOKUP.findStatic(
+              ProvisionPlans.class,
+              "provide",
+              MethodType.methodType(
+                  Object.class, InternalFactory.class, Dependency.class, InternalContext.class));
+      ADD_SOURCE =
+          LOOKUP.findStatic(
+              ProvisionPlans.class,
+              "addSource",
+              MethodType.methodType(
+                  Object.class, Object.class, InternalProvisionException.class));
+      CONSTRUCTOR_FAILED =
+          LOOKUP.findStatic(
+              ProvisionPlans.class,
+              "constructorFailed",
+              MethodType.methodType(Object.class, Object.class, Throwable.class));
+    } catch (ReflectiveOperationException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+  private ProvisionPlans() {}
+
+  /**
+   * Returns a {@code (InternalContext) -> Object} handle that resolves the parameters of {@code
+   * root} and invokes its constructor, or {@link #NO_PLAN} if compiled provisioning is disabled or
+   * the constructor can't be invoked through a handle.
+   */
+  static MethodHandle compile(ConstructorInjector<?> root) {
+    if (!InternalFlags.isCompiledProvisioningEnabled()) {
+      return NO_PLAN;
+    }
+    MethodHandle plan = new Compiler(root).construct(root);
+    return plan != null ? plan : NO_PLAN;
+  }
+
+  /** Builds one plan; not thread-safe. */
+  private static final class Compiler {
+    final ConstructorInjector<?> root;
+
+    /** Constructors being compiled, which must not be inlined into themselves. */
+    final Set<ConstructorInjector<?>> path = Sets.newIdentityHashSet();
+
+    int inlined;
+
+    Compiler(ConstructorInjector<?> root) {
+      this.root = root;
+      path.add(root);
+    }
+
+    /** Returns a plan that resolves the parameters of {@code injector} and constructs. */
+    MethodHandle construct(ConstructorInjector<?> injector) {
+      MethodHandle constructor = constructorHandle(injector.getConstructionProxy());
+      if (constructor == null) {
+        return null;
+      }
+      SingleParameterInjector<?>[] parameterInjectors = injector.getParameterInjectors();
+      if (parameterInjectors == null || parameterInjectors.length == 0) {
+        return MethodHandles.dropArguments(constructor, 0, InternalContext.class);
+      }
+      int count = parameterInjectors.length;
+      MethodHandle[] parameters = new MethodHandle[count];
+      for (int i = 0; i < count; i++) {
+        parameters[i] =
+            value(parameterInjectors[i].getDependency(), parameterInjectors[i].getFactory());
+      }
+      // every parameter plan takes the same context, so spread the one argument over all of them
+      return MethodHandles.permuteArguments(
+          MethodHandles.filterArguments(constructor, 0, parameters), PLAN, new int[count]);
+    }
+
+    /** Returns a plan for the value {@code factory} provides for {@code dependency}. */
+    MethodHandle value(Dependency<?> dependency, InternalFactory<?> factory) {
+      MethodHandle inlined = inline(factory, false);
+      if (inlined == null) {
+        return MethodHandles.insertArguments(PROVIDE, 0, factory, dependency);
+      }
+      return withSource(inlined, dependency);
+    }
+
+    /** Returns a plan that does what {@code factory} does, or null if it can't be inlined. */
+    MethodHandle inline(InternalFactory<?> factory, boolean linked) {
+      if (factory instanceof FactoryProxy) {
+        FactoryProxy<?> proxy = (FactoryProxy<?>) factory;
+        MethodHandle target = inline(proxy.getTargetFactory(), true);
+        return target != null ? withSource(target, proxy.getTargetKey()) : null;
+      }
+      ConstructorInjector<?> injector =
+          ConstructorBindingImpl.getInlinableInjector(factory, linked);
+      if (injector == null || inlined >= MAX_INLINED_CONSTRUCTORS || !path.add(injector)) {
+        return null;
+      }
+      try {
+        MembersInjectorImpl<?> membersInjector = injector.getMembersInjector();
+        if (membersInjector.hasUserMembersInjectorsOrListeners()) {
+          return null;
+        }
+        ImmutableList<SingleMemberInjector> memberInjectors = membersInjector.getMemberInjectors();
+        for (SingleMemberInjector memberInjector : memberInjectors) {
+          if (!(memberInjector instanceof SingleFieldInjector)) {
+            return null;
+          }
+          SingleFieldInjector fieldInjector = (SingleFieldInjector) memberInjector;
+          if (MemberHandles.setter(fieldInjector.field) == null
+              || reentersPath(fieldInjector.binding.getInternalFactory())) {
+            return null;
+          }
+        }
+        SingleParameterInjector<?>[] parameterInjectors = injector.getParameterInjectors();
+        if (parameterInjectors != null) {
+          for (SingleParameterInjector<?> parameterInjector : parameterInjectors) {
+            if (reentersPath(parameterInjector.getFactory())) {
+              return null;
+            }
+          }
+        }
+        MethodHandle construct = construct(injector);
+        if (construct == null) {
+          return null;
+        }
+        inlined++;
+        // fold the setters in reverse so that fields are injected in declaration order
+        MethodHandle inject = INSTANCE;
+        for (int i = memberInjectors.size() - 1; i >= 0; i--) {
+          SingleFieldInjector fieldInjector = (SingleFieldInjector) memberInjectors.get(i);
+          MethodHandle value =
+              value(fieldInjector.dependency, fieldInjector.binding.getInternalFactory());
+          inject =
+              MethodHandles.foldArguments(
+                  inject,
+                  MethodHandles.filterArguments(
+                      MemberHandles.setter(fieldInjector.field), 1, value));
+        }
+        return MethodHandles.foldArguments(inject, construct);
+      } finally {
+        path.remove(injector);
+      }
+    }
+
+    /**
+     * Returns true unless everything {@code factory} can construct is known and nothing but the
+     * root is on the current path. Inlined constructors aren't tracked in the {@link
+     * ConstructionContext}, so a cycle back to one would build a second instance instead of sharing
+     * (or proxying) the first. Cycles back to the root are fine, since the root is tracked.
+     *
+     * <p>Only instances and constructor bindings without listeners, interceptors or method
+     * injection are known: scopes, providers, private modules and injected injectors run code that
+     * could request anything, so they may lead back to the path even if they aren't inlined.
+     */
+    boolean reentersPath(InternalFactory<?> factory) {
+      return reentersPath(factory, Sets.newIdentityHashSet());
+    }
+
+    private boolean reentersPath(
+        InternalFactory<?> factory, Set<ConstructorInjector<?>> checked) {
+      while (factory instanceof FactoryProxy) {
+        factory = ((FactoryProxy<?>) factory).getTargetFactory();
+      }
+      if (factory instanceof ConstantFactory) {
+        return false;
+      }
+      ConstructorInjector<?> injector = ConstructorBindingImpl.getInlinableInjector(factory, true);
+      if (injector == null) {
+        return true;
+      }
+      if (injector == root || !checked.add(injector)) {
+        return false;
+      }
+      if (path.contains(injector)
+          || checked.size() > MAX_CHECKED_CONSTRUCTORS
+          || !injector.getConstructionProxy().getMethodInterceptors().isEmpty()) {
+        return true;
+      }
+      MembersInjectorImpl<?> membersInjector = injector.getMembersInjector();
+      if (membersInjector.hasUserMembersInjectorsOrListeners()) {
+        return true;
+      }
+      for (SingleMemberInjector memberInjector : membersInjector.getMemberInjectors()) {
+        if (!(memberInjector instanceof SingleFieldInjector)
+            || reentersPath(
+                ((SingleFieldInjector) memberInjector).binding.getInternalFactory(), checked)) {
+          return true;
+        }
+      }
+      SingleParameterInjector<?>[] parameterInjectors = injector.getParameterInjectors();
+      if (parameterInjectors != null) {
+        for (SingleParameterInjector<?> parameterInjector : parameterInjectors) {
+          if (reentersPath(parameterInjector.getFactory(), checked)) {
+            return true;
+          }
+        }
+      }
+      return false;
+    }
+  }
+
+  /**
+   * Returns a {@code (Object...) -> Object} handle for the constructor behind {@code proxy} that
+   * reports exceptions like {@link ConstructorInjector} does, or null if there isn't one.
+   */
+  private static MethodHandle constructorHandle(ConstructionProxy<?> proxy) {
+    if (!proxy.getMethodInterceptors().isEmpty()) {
+      return null; // the proxy constructs an enhanced subclass
+    }
+    Constructor<?> constructor = proxy.getConstructor();
+    MethodHandle handle;
+    try {
+      handle = LOOKUP.unreflectConstructor(constructor);
+    } catch (IllegalAccessException e) {
+      // not public or not exported to us; suppress access checks as reflection would have to
+      try {
+        constructor.setAccessible(true);
+        handle = LOOKUP.unreflectConstructor(constructor);
+      } catch (IllegalAccessException | RuntimeException inaccessible) {
+        return null;
+      }
+    }
+    handle =
+        handle
+            .asFixedArity()
+            .asType(MethodType.genericMethodType(constructor.getParameterCount()));
+    return MethodHandles.catchException(
+        handle,
+        Throwable.class,
+        MethodHandles.insertArguments(CONSTRUCTOR_FAILED, 0, proxy.getInjectionPoint()));
+  }
+
+  /** Makes {@code plan} add {@code source} to the provision exceptions passing through it. */
+  private static MethodHandle withSource(MethodHandle plan, Object source) {
+    return MethodHandles.catchException(
+        plan,
+        InternalProvisionException.class,
+        MethodHandles.insertArguments(ADD_SOURCE, 0, source));
+  }
+
+  @SuppressWarnings("unused") // called through PROVIDE
+  private static Object provide(
+      InternalFactory<?> factory, Dependency<?> dependency, InternalContext context)
+      throws InternalProvisionException {
+    try {
+      return factory.get(context, dependency, false);
+    } catch (InternalProvisionException e) {
+      throw e.addSource(dependency);
+    }
+  }
+
+  @SuppressWarnings("unused") // called through ADD_SOURCE
+  private static Object addSource(Object source, InternalProvisionException e)
+      throws InternalProvisionException {
+    throw e.addSource(source);
+  }
+
+  @SuppressWarnings("unused") // called through CONSTRUCTOR_FAILED
+  private static Object constructorFailed(Object source, Throwable cause)
+      throws InternalProvisionException {
+    throw InternalProvisionException.errorInjectingConstructor(cause).addSource(source);
+  }
+}
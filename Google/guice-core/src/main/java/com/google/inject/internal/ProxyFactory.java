@@ -19,7 +19,6 @@ package com.google.inject.internal;
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
-import com.google.common.collect.Lists;
 import com.google.common.collect.Multimap;
 import com.google.inject.gee.InjectionPoint;
 import java.lang.reflect.Constructor;
@@ -50,19 +49,14 @@ final class ProxyFactory<T> implements ConstructionProxyFactory<T> {
   private final ImmutableMap<Method, List<MethodInterceptor>> interceptors;
   private final InvocationHandler[] callbacks;
 
-  ProxyFactory(InjectionPoint injectionPoint, Iterable<MethodAspect> methodAspects)
+  ProxyFactory(InjectionPoint injectionPoint, InterceptorIndex interceptorIndex)
       throws ErrorsException {
     this.injectionPoint = injectionPoint;
 
     Class<?> hostClass = injectionPoint.getMember().getDeclaringClass();
 
     // Find applicable aspects. Bow out if none are applicable to this class.
-    List<MethodAspect> applicableAspects = Lists.newArrayList();
-    for (MethodAspect methodAspect : methodAspects) {
-      if (methodAspect.matches(hostClass)) {
-        applicableAspects.add(methodAspect);
-      }
-    }
+    List<MethodAspect> applicableAspects = interceptorIndex.applicableAspects(hostClass);
 
     if (applicableAspects.isEmpty()) {
       enhancer = null;
@@ -19,12 +19,14 @@ import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Sets;
+import com.google.common.primitives.Booleans;
 import com.google.inject.Binder;
 import com.google.inject.Binding;
 import com.google.inject.Injector;
 import com.google.inject.Key;
 import com.google.inject.Module;
 import com.google.inject.Provider;
+import com.google.inject.Scopes;
 import com.google.inject.TypeLiteral;
 import com.google.inject.binder.LinkedBindingBuilder;
 import com.google.inject.internal.InternalProviderInstanceBindingImpl.InitializationTiming;
@@ -303,12 +305,12 @@ public final class RealMapBinder<K, V> implements Module {
         .bind(bindingSelection.getProviderMapKey())
         .toProvider(new RealProviderMapProvider<>(bindingSelection));
 
-    // The map this exposes is internally an ImmutableMap, so it's OK to massage
-    // the guice Provider to jakarta Provider in the value (since Guice provider
-    // implements jakarta Provider).
-    binder
-        .bind(bindingSelection.getJakartaProviderMapKey())
-        .to((Key) bindingSelection.getProviderMapKey());
+    // Upstream Guice links the jakarta Provider keys to the guice ones here. This fork's Provider
+    // doesn't extend jakarta.inject.Provider, and Types.jakartaProviderOf builds the same guice
+    // Provider type, so the keys are equal and linking them would be a duplicate binding. They are
+    // only linked if they ever differ.
+    linkIfDistinct(
+        binder, bindingSelection.getJakartaProviderMapKey(), bindingSelection.getProviderMapKey());
 
     // Bind Map<K, V> to the provider w/ extension support.
     binder
@@ -321,9 +323,18 @@ public final class RealMapBinder<K, V> implements Module {
 
     // The Map.Entries are all ProviderMapEntry instances which do not allow setValue, so it is
     // safe to massage the return type like this
-    binder
-        .bind(bindingSelection.getEntrySetJakartaProviderKey())
-        .to((Key) bindingSelection.getEntrySetBinder().getSetKey());
+    linkIfDistinct(
+        binder,
+        bindingSelection.getEntrySetJakartaProviderKey(),
+        bindingSelection.getEntrySetBinder().getSetKey());
+  }
+
+  /** Links {@code alias} to {@code target}, unless they're the same key. */
+  @SuppressWarnings({"unchecked", "rawtypes"}) // we use raw Key to link bindings.
+  private static void linkIfDistinct(Binder binder, Key<?> alias, Key<?> target) {
+    if (!alias.equals(target)) {
+      binder.bind((Key) alias).to((Key) target);
+    }
   }
 
   @Override
@@ -757,6 +768,18 @@ public final class RealMapBinder<K, V> implements Module {
 
     K[] keys;
 
+    /** Which values always provide the same instance, or null if none do. */
+    boolean[] constantValues;
+
+    /**
+     * The constant values, remembered from the first successful provision. Null until then, and
+     * always null when every value is constant.
+     */
+    volatile V[] rememberedValues;
+
+    /** The map shared by all provisions once it's built, when every value is constant. */
+    volatile ImmutableMap<K, V> constantMap;
+
     private boolean initialized = false;
 
     ExtensionRealMapProvider(BindingSelection<K, V> bindingSelection) {
@@ -791,33 +814,71 @@ public final class RealMapBinder<K, V> implements Module {
       SingleParameterInjector<V>[] typedInjectors =
           (SingleParameterInjector<V>[]) injector.getParametersInjectors(dependenciesList, errors);
       injectors = typedInjectors;
+      constantValues = RealMultibinder.constantElements(bindingSelection.getMapBindings().values());
     }
 
     @Override
     protected Map<K, V> doProvision(InternalContext context, Dependency<?> dependency)
         throws InternalProvisionException {
+      ImmutableMap<K, V> localMap = constantMap;
+      if (localMap != null) {
+        return localMap;
+      }
       SingleParameterInjector<V>[] localInjectors = injectors;
       if (localInjectors == null) {
         // if injectors == null, then we have no bindings so return the empty map.
         return ImmutableMap.of();
       }
 
-      ImmutableMap.Builder<K, V> resultBuilder = ImmutableMap.builder();
+      ImmutableMap.Builder<K, V> resultBuilder =
+          ImmutableMap.builderWithExpectedSize(localInjectors.length);
       K[] localKeys = keys;
+      V[] localRememberedValues = rememberedValues;
+      @SuppressWarnings("unchecked")
+      V[] values = (V[]) new Object[localInjectors.length];
       for (int i = 0; i < localInjectors.length; i++) {
-        SingleParameterInjector<V> injector = localInjectors[i];
         K key = localKeys[i];
 
-        V value = injector.inject(context);
-
+        V value = localRememberedValues != null ? localRememberedValues[i] : null;
         if (value == null) {
-          throw createNullValueException(key, bindingSelection.getMapBindings().get(key));
+          value = localInjectors[i].inject(context);
+          if (value == null) {
+            throw createNullValueException(key, bindingSelection.getMapBindings().get(key));
+          }
         }
 
+        values[i] = value;
         resultBuilder.put(key, value);
       }
 
-      return resultBuilder.buildOrThrow();
+      ImmutableMap<K, V> map = resultBuilder.buildOrThrow();
+      if (localRememberedValues == null && constantValues != null) {
+        rememberConstants(values, map);
+      }
+      return map;
+    }
+
+    /**
+     * Keeps the constant values so that later provisions only go through the injectors of the
+     * other values, or the whole map if every value is constant.
+     */
+    private void rememberConstants(V[] values, ImmutableMap<K, V> map) {
+      boolean[] localConstantValues = constantValues;
+      boolean allConstant = true;
+      for (int i = 0; i < values.length; i++) {
+        if (!localConstantValues[i]) {
+          allConstant = false;
+          values[i] = null;
+        } else if (Scopes.isCircularProxy(values[i])) {
+          // a singleton still under construction, its real instance isn't known yet
+          return;
+        }
+      }
+      if (allConstant) {
+        constantMap = map;
+      } else {
+        rememberedValues = values;
+      }
     }
 
     @Override
@@ -1020,21 +1081,21 @@ public final class RealMapBinder<K, V> implements Module {
           .bind(bindingSelection.getProviderSetMultimapKey())
           .toProvider(new RealProviderMultimapProvider<K, V>(bindingSelection.getMapKey()));
 
-      // Provide links from a few different public keys to the providerMultimapKey.
-      // The collection this exposes is internally an ImmutableMap, so it's OK to massage
-      // the guice Provider to jakarta Provider in the value (since the guice Provider implements
-      // jakarta Provider).
-      binder
-          .bind(bindingSelection.getJakartaProviderSetMultimapKey())
-          .to((Key) bindingSelection.getProviderSetMultimapKey());
+      // Provide links from a few different public keys to the providerMultimapKey. The jakarta
+      // Provider keys are the same as the guice ones in this fork, see RealMapBinder.configure.
+      linkIfDistinct(
+          binder,
+          bindingSelection.getJakartaProviderSetMultimapKey(),
+          bindingSelection.getProviderSetMultimapKey());
 
       binder
           .bind(bindingSelection.getProviderCollectionMultimapKey())
           .to((Key) bindingSelection.getProviderSetMultimapKey());
 
-      binder
-          .bind(bindingSelection.getJakartaProviderCollectionMultimapKey())
-          .to((Key) bindingSelection.getProviderSetMultimapKey());
+      linkIfDistinct(
+          binder,
+          bindingSelection.getJakartaProviderCollectionMultimapKey(),
+          bindingSelection.getProviderSetMultimapKey());
 
       // Binds a Map<K, Set<V>>
       binder
@@ -1124,6 +1185,12 @@ public final class RealMapBinder<K, V> implements Module {
 
       private PerKeyData<K, V>[] perKeyDatas;
 
+      /** Whether every value is an instance binding or a singleton. */
+      private boolean allConstant;
+
+      /** The multimap shared by all provisions once it's built, if every value is constant. */
+      private volatile ImmutableMap<K, Set<V>> constantMultimap;
+
       private boolean initialized = false;
 
       private RealMultimapProvider(Key<Map<K, V>> mapKey) {
@@ -1177,15 +1244,30 @@ public final class RealMapBinder<K, V> implements Module {
         }
 
         dependencies = dependenciesBuilder.build();
+        allConstant = true;
+        for (Set<Binding<V>> bindings : bindingSelection.getMultimapBindings().values()) {
+          boolean[] constant = RealMultibinder.constantElements(bindings);
+          if (constant == null || Booleans.contains(constant, false)) {
+            allConstant = false;
+            break;
+          }
+        }
       }
 
       @Override
       protected Map<K, Set<V>> doProvision(InternalContext context, Dependency<?> dependency)
           throws InternalProvisionException {
-        ImmutableMap.Builder<K, Set<V>> resultBuilder = ImmutableMap.builder();
+        ImmutableMap<K, Set<V>> localMultimap = constantMultimap;
+        if (localMultimap != null) {
+          return localMultimap;
+        }
+        ImmutableMap.Builder<K, Set<V>> resultBuilder =
+            ImmutableMap.builderWithExpectedSize(perKeyDatas.length);
+        boolean circularProxy = false;
 
         for (PerKeyData<K, V> perKeyData : perKeyDatas) {
-          ImmutableSet.Builder<V> bindingsBuilder = ImmutableSet.builder();
+          ImmutableSet.Builder<V> bindingsBuilder =
+              ImmutableSet.builderWithExpectedSize(perKeyData.injectors.length);
           SingleParameterInjector<V>[] injectors = perKeyData.injectors;
           for (int i = 0; i < injectors.length; i++) {
             SingleParameterInjector<V> injector = injectors[i];
@@ -1195,13 +1277,18 @@ public final class RealMapBinder<K, V> implements Module {
               throw createNullValueException(perKeyData.key, perKeyData.bindings[i]);
             }
 
+            circularProxy |= Scopes.isCircularProxy(value);
             bindingsBuilder.add(value);
           }
 
           resultBuilder.put(perKeyData.key, bindingsBuilder.build());
         }
 
-        return resultBuilder.buildOrThrow();
+        ImmutableMap<K, Set<V>> multimap = resultBuilder.buildOrThrow();
+        if (allConstant && !circularProxy) {
+          constantMultimap = multimap;
+        }
+        return multimap;
       }
     }
   }
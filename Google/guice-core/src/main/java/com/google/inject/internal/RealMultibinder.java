@@ -16,6 +16,7 @@ import com.google.inject.Injector;
 import com.google.inject.Key;
 import com.google.inject.Module;
 import com.google.inject.Provider;
+import com.google.inject.Scopes;
 import com.google.inject.TypeLiteral;
 import com.google.inject.binder.LinkedBindingBuilder;
 import com.google.inject.internal.InternalProviderInstanceBindingImpl.InitializationTiming;
@@ -23,6 +24,7 @@ import com.google.inject.multibindings.MultibinderBinding;
 import com.google.inject.multibindings.MultibindingsTargetVisitor;
 import com.google.inject.spi.BindingTargetVisitor;
 import com.google.inject.spi.Dependency;
+import com.google.inject.spi.InstanceBinding;
 import com.google.inject.spi.Message;
 import com.google.inject.spi.ProviderInstanceBinding;
 import com.google.inject.spi.ProviderWithExtensionVisitor;
@@ -90,6 +92,24 @@ public final class RealMultibinder<T> implements Module {
     return (TypeLiteral<Set<? extends T>>) TypeLiteral.get(setOfExtendsType);
   }
 
+  /**
+   * Returns which of {@code bindings} provide the same instance every time, instance bindings and
+   * singletons, or null if none of them do. Collections of such elements needn't be rebuilt.
+   */
+  static boolean[] constantElements(Collection<? extends Binding<?>> bindings) {
+    boolean[] constant = new boolean[bindings.size()];
+    boolean any = false;
+    int i = 0;
+    for (Binding<?> binding : bindings) {
+      constant[i] =
+          binding instanceof InstanceBinding
+              || ((BindingImpl<?>) binding).getScoping().getScopeInstance() == Scopes.SINGLETON;
+      any |= constant[i];
+      i++;
+    }
+    return any ? constant : null;
+  }
+
   private final BindingSelection<T> bindingSelection;
   private final Binder binder;
 
@@ -113,12 +133,17 @@ public final class RealMultibinder<T> implements Module {
         .bind(bindingSelection.getCollectionOfProvidersKey())
         .toProvider(new RealMultibinderCollectionOfProvidersProvider<T>(bindingSelection));
 
-    // The collection this exposes is internally an ImmutableList, so it's OK to massage
-    // the guice Provider to jakarta Provider in the value (since the guice Provider implements
-    // jakarta Provider).
-    binder
-        .bind(bindingSelection.getCollectionOfJakartaProvidersKey())
-        .to((Key) bindingSelection.getCollectionOfProvidersKey());
+    // Upstream Guice links the jakarta Provider key to the guice one here. This fork's Provider
+    // doesn't extend jakarta.inject.Provider, and Types.jakartaProviderOf builds the same guice
+    // Provider type, so both keys are the same and linking them would be a recursive duplicate
+    // binding.
+    if (!bindingSelection
+        .getCollectionOfJakartaProvidersKey()
+        .equals(bindingSelection.getCollectionOfProvidersKey())) {
+      binder
+          .bind(bindingSelection.getCollectionOfJakartaProvidersKey())
+          .to((Key) bindingSelection.getCollectionOfProvidersKey());
+    }
   }
 
   public void permitDuplicates() {
@@ -218,6 +243,18 @@ public final class RealMultibinder<T> implements Module {
     SingleParameterInjector<T>[] injectors;
     boolean permitDuplicates;
 
+    /** Which elements always provide the same instance, or null if none do. */
+    boolean[] constantElements;
+
+    /**
+     * The values of the constant elements, remembered from the first successful provision. Null
+     * until then, and always null when every element is constant.
+     */
+    volatile T[] constantValues;
+
+    /** The set shared by all provisions once it's built, when every element is constant. */
+    volatile ImmutableSet<T> constantSet;
+
     RealMultibinderProvider(BindingSelection<T> bindingSelection) {
       // Note: method reference doesn't work for the 2nd arg for some reason when compiling on java8
       super(bindingSelection, bs -> bs.getDependencies());
@@ -228,16 +265,24 @@ public final class RealMultibinder<T> implements Module {
       bindings = bindingSelection.getBindings();
       injectors = bindingSelection.getParameterInjectors();
       permitDuplicates = bindingSelection.permitsDuplicates();
+      constantElements = constantElements(bindings);
+      constantValues = null;
+      constantSet = null;
     }
 
     @Override
     protected ImmutableSet<T> doProvision(InternalContext context, Dependency<?> dependency)
         throws InternalProvisionException {
+      ImmutableSet<T> localSet = constantSet;
+      if (localSet != null) {
+        return localSet;
+      }
       SingleParameterInjector<T>[] localInjectors = injectors;
       if (localInjectors == null) {
         // if localInjectors == null, then we have no bindings so return the empty set.
         return ImmutableSet.of();
       }
+      T[] localConstantValues = constantValues;
       // Ideally we would just add to an ImmutableSet.Builder, but if we did that and there were
       // duplicates we wouldn't be able to tell which one was the duplicate.  So to manage this we
       // first put everything into an array and then construct the set.  This way if something gets
@@ -245,10 +290,12 @@ public final class RealMultibinder<T> implements Module {
       @SuppressWarnings("unchecked")
       T[] values = (T[]) new Object[localInjectors.length];
       for (int i = 0; i < localInjectors.length; i++) {
-        SingleParameterInjector<T> parameterInjector = localInjectors[i];
-        T newValue = parameterInjector.inject(context);
+        T newValue = localConstantValues != null ? localConstantValues[i] : null;
         if (newValue == null) {
-          throw newNullEntryException(i);
+          newValue = localInjectors[i].inject(context);
+          if (newValue == null) {
+            throw newNullEntryException(i);
+          }
         }
         values[i] = newValue;
       }
@@ -257,9 +304,35 @@ public final class RealMultibinder<T> implements Module {
       if (!permitDuplicates && set.size() < values.length) {
         throw newDuplicateValuesException(values);
       }
+      if (localConstantValues == null && constantElements != null) {
+        rememberConstants(values, set);
+      }
       return set;
     }
 
+    /**
+     * Keeps the values of the constant elements so that later provisions only go through the
+     * injectors of the other elements, or the whole set if every element is constant.
+     */
+    private void rememberConstants(T[] values, ImmutableSet<T> set) {
+      boolean[] localConstantElements = constantElements;
+      boolean allConstant = true;
+      for (int i = 0; i < values.length; i++) {
+        if (!localConstantElements[i]) {
+          allConstant = false;
+          values[i] = null;
+        } else if (Scopes.isCircularProxy(values[i])) {
+          // a singleton still under construction, its real instance isn't known yet
+          return;
+        }
+      }
+      if (allConstant) {
+        constantSet = set;
+      } else {
+        constantValues = values;
+      }
+    }
+
     private InternalProvisionException newNullEntryException(int i) {
       return InternalProvisionException.create(
           ErrorId.NULL_ELEMENT_IN_SET,
@@ -19,6 +19,7 @@ package com.google.inject.internal;
 import com.google.inject.internal.InjectorImpl.JitLimitation;
 import com.google.inject.spi.Dependency;
 import com.google.inject.gee.InjectionPoint;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Field;
 
 /** Sets an injectable field. */
@@ -27,6 +28,8 @@ final class SingleFieldInjector implements SingleMemberInjector {
   final InjectionPoint injectionPoint;
   final Dependency<?> dependency;
   final BindingImpl<?> binding;
+  /** Sets the field without reflection, or null to use {@link Field#set}. */
+  final MethodHandle setter;
 
   public SingleFieldInjector(InjectorImpl injector, InjectionPoint injectionPoint, Errors errors)
       throws ErrorsException {
@@ -36,6 +39,7 @@ final class SingleFieldInjector implements SingleMemberInjector {
 
     // Ewwwww...
     field.setAccessible(true);
+    setter = MemberHandles.setterFor(field);
     binding = injector.getBindingOrThrow(dependency.getKey(), errors, JitLimitation.NO_JIT);
   }
 
@@ -48,11 +52,19 @@ final class SingleFieldInjector implements SingleMemberInjector {
   public void inject(InternalContext context, Object o) throws InternalProvisionException {
     try {
       Object value = binding.getInternalFactory().get(context, dependency, false);
-      field.set(o, value);
+      if (setter != null) {
+        setter.invokeExact(o, value);
+      } else {
+        field.set(o, value);
+      }
     } catch (InternalProvisionException e) {
       throw e.addSource(dependency);
     } catch (IllegalAccessException e) {
       throw new AssertionError(e); // a security manager is blocking us, we're hosed
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable t) {
+      throw new AssertionError(t); // setters don't throw checked exceptions
     }
   }
 }
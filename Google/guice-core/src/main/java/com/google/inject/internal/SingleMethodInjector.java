@@ -18,6 +18,7 @@ package com.google.inject.internal;
 
 import com.google.inject.internal.InjectorImpl.MethodInvoker;
 import com.google.inject.gee.InjectionPoint;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
@@ -59,6 +60,21 @@ final class SingleMethodInjector implements SingleMemberInjector {
       }
     }
 
+    MethodHandle handle = MemberHandles.invokerFor(method);
+    if (handle != null) {
+      return new MethodInvoker() {
+        @Override
+        public Object invoke(Object target, Object... parameters)
+            throws InvocationTargetException {
+          try {
+            return (Object) handle.invokeExact(target, parameters);
+          } catch (Throwable e) {
+            throw new InvocationTargetException(e); // match JDK reflection behaviour
+          }
+        }
+      };
+    }
+
     int modifiers = method.getModifiers();
     if (!Modifier.isPublic(modifiers)
         || !Modifier.isPublic(method.getDeclaringClass().getModifiers())) {
@@ -34,6 +34,14 @@ final class SingleParameterInjector<T> {
     this.factory = binding.getInternalFactory();
   }
 
+  Dependency<T> getDependency() {
+    return dependency;
+  }
+
+  InternalFactory<? extends T> getFactory() {
+    return factory;
+  }
+
   T inject(InternalContext context) throws InternalProvisionException {
     Dependency<T> localDependency = dependency;
     try {
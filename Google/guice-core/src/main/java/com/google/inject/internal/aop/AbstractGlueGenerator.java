@@ -34,6 +34,8 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.ToIntFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import org.objectweb.asm.ClassWriter;
 import org.objectweb.asm.Label;
 import org.objectweb.asm.MethodVisitor;
@@ -94,6 +96,8 @@ abstract class AbstractGlueGenerator {
 
   private static final AtomicInteger COUNTER = new AtomicInteger();
 
+  private static final Logger logger = Logger.getLogger(AbstractGlueGenerator.class.getName());
+
   protected AbstractGlueGenerator(Class<?> hostClass, String marker) {
     this.hostClass = hostClass;
     this.hostName = Type.getInternalName(hostClass);
@@ -115,9 +119,7 @@ abstract class AbstractGlueGenerator {
       NavigableMap<String, Executable> glueMap) {
     final MethodHandle invokerTable;
     try {
-      byte[] bytecode = generateGlue(glueMap.values());
-      Class<?> glueClass = ClassDefining.define(hostClass, bytecode);
-      invokerTable = lookupInvokerTable(glueClass);
+      invokerTable = defineGlue(glueMap.values());
     } catch (Throwable e) {
       throw new GlueException("Problem generating " + proxyName, e);
     }
@@ -127,6 +129,42 @@ abstract class AbstractGlueGenerator {
     return bindSignaturesToInvokers(signatureTable, invokerTable);
   }
 
+  /**
+   * Defines the glue class, reusing bytecode from the {@link GlueCache} when it has some for these
+   * members, and returns its invoker table.
+   */
+  private MethodHandle defineGlue(Collection<Executable> members) throws Throwable {
+    String cacheKey =
+        GlueCache.isEnabled()
+            ? GlueCache.key(getClass(), hostClass, members, cacheKeyExtra())
+            : null;
+    if (cacheKey != null) {
+      byte[] cached = GlueCache.read(cacheKey);
+      if (cached != null) {
+        try {
+          return lookupInvokerTable(ClassDefining.define(hostClass, cached));
+        } catch (Exception | LinkageError e) {
+          // most likely already defined by this JVM; fresh glue gets a fresh name
+          logger.log(Level.FINE, "Ignoring cached glue for " + hostClass.getName(), e);
+        }
+      }
+    }
+    byte[] bytecode = generateGlue(members);
+    MethodHandle invokerTable = lookupInvokerTable(ClassDefining.define(hostClass, bytecode));
+    if (cacheKey != null) {
+      GlueCache.write(cacheKey, bytecode);
+    }
+    return invokerTable;
+  }
+
+  /**
+   * Returns anything else (beyond the host and members) the generated bytecode depends on, so it
+   * can be part of the {@link GlueCache} key.
+   */
+  protected String cacheKeyExtra() {
+    return "";
+  }
+
   /** Generates enhancer/fast-class bytecode for the given constructors/methods. */
   protected abstract byte[] generateGlue(Collection<Executable> members);
 
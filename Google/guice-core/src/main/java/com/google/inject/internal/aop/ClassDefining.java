@@ -38,11 +38,13 @@ public final class ClassDefining {
   private static class ClassDefinerHolder {
     static final ClassDefiner INSTANCE;
     static final boolean USES_LOOKUP_DEFINER;
+    static final boolean USES_HIDDEN_DEFINER;
 
     static {
       Object[] result = bindClassDefiner();
       INSTANCE = (ClassDefiner) result[0];
       USES_LOOKUP_DEFINER = (Boolean) result[1];
+      USES_HIDDEN_DEFINER = (Boolean) result[2];
     }
   }
 
@@ -57,56 +59,68 @@ public final class ClassDefining {
   }
 
   /**
-   * Returns true if it's possible to load by name proxies defined from the given host.
-   * Always true since all current definers produce named classes.
+   * Returns true if it's possible to load by name proxies defined from the given host. False when
+   * proxies are defined as hidden classes, even if a particular proxy falls back to a named class.
    */
   public static boolean canLoadProxyByName(Class<?> hostClass) {
-    return true;
+    return !ClassDefinerHolder.USES_HIDDEN_DEFINER;
   }
 
-  /** Binds the preferred {@link ClassDefiner} instance and returns {definer, usesLookup}. */
+  /**
+   * Binds the preferred {@link ClassDefiner} instance and returns {definer, usesLookup,
+   * usesHidden}.
+   */
   static Object[] bindClassDefiner() {
     CustomClassLoadingOption loadingOption = InternalFlags.getCustomClassLoadingOption();
-    if (loadingOption == CustomClassLoadingOption.ANONYMOUS) {
-      logger.log(Level.WARNING,
-          "guice_custom_class_loading=ANONYMOUS is no longer supported (Unsafe removed). "
-              + "Falling back to BRIDGE semantics.");
+    if (loadingOption == CustomClassLoadingOption.ANONYMOUS && LookupClassDefiner.isAccessible()) {
+      // ANONYMOUS: define hidden nest-mates, fall back to BRIDGE semantics for hosts that Guice
+      // has no full privilege access to, such as classes in other named modules
+      ClassDefiner hidden =
+          fallingBackTo(new HiddenClassDefiner(), bridge(), "Hidden class definition");
+      return new Object[]{hidden, true, true};
+    } else if (loadingOption == CustomClassLoadingOption.ANONYMOUS) {
       loadingOption = CustomClassLoadingOption.BRIDGE;
     }
     if (loadingOption == CustomClassLoadingOption.CHILD) {
-      return new Object[]{new ChildClassDefiner(), false};
+      return new Object[]{new ChildClassDefiner(), false, false};
     } else if (loadingOption == CustomClassLoadingOption.BRIDGE && LookupClassDefiner.isAccessible()) {
-      // BRIDGE: try lookup-based definition, fall back to child class loader on failure
-      ClassDefiner lookupDefiner = new LookupClassDefiner();
-      ClassDefiner childDefiner = new ChildClassDefiner();
-      ClassDefiner bridge = (hostClass, bytecode) -> {
-        try {
-          return lookupDefiner.define(hostClass, bytecode);
-        } catch (Exception lookupFailure) {
-          logger.log(Level.FINE,
-              "Lookup-based class definition failed for " + hostClass.getName()
-                  + "; falling back to child class loader.",
-              lookupFailure);
-          try {
-            return childDefiner.define(hostClass, bytecode);
-          } catch (Exception childFailure) {
-            childFailure.addSuppressed(lookupFailure);
-            throw childFailure;
-          }
-        }
-      };
-      return new Object[]{bridge, true};
+      return new Object[]{bridge(), true, false};
     } else if (LookupClassDefiner.isAccessible()) {
-      return new Object[]{new LookupClassDefiner(), true};
+      return new Object[]{new LookupClassDefiner(), true, false};
     } else if (loadingOption != CustomClassLoadingOption.OFF) {
-      return new Object[]{new ChildClassDefiner(), false};
+      return new Object[]{new ChildClassDefiner(), false, false};
     } else {
       logger.warning(CLASS_DEFINING_UNSUPPORTED);
       ClassDefiner unsupported = (hostClass, bytecode) -> {
         throw new UnsupportedOperationException(
             "Cannot define class, " + CLASS_DEFINING_UNSUPPORTED);
       };
-      return new Object[]{unsupported, false};
+      return new Object[]{unsupported, false, false};
     }
   }
+
+  /** BRIDGE: try lookup-based definition, fall back to child class loader on failure. */
+  private static ClassDefiner bridge() {
+    return fallingBackTo(
+        new LookupClassDefiner(), new ChildClassDefiner(), "Lookup-based class definition");
+  }
+
+  private static ClassDefiner fallingBackTo(
+      ClassDefiner preferred, ClassDefiner fallback, String preferredName) {
+    return (hostClass, bytecode) -> {
+      try {
+        return preferred.define(hostClass, bytecode);
+      } catch (Exception preferredFailure) {
+        logger.log(Level.FINE,
+            preferredName + " failed for " + hostClass.getName() + "; falling back.",
+            preferredFailure);
+        try {
+          return fallback.define(hostClass, bytecode);
+        } catch (Exception fallbackFailure) {
+          fallbackFailure.addSuppressed(preferredFailure);
+          throw fallbackFailure;
+        }
+      }
+    };
+  }
 }
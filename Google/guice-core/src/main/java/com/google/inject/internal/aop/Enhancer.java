@@ -62,6 +62,7 @@ import java.util.Collection;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 import org.objectweb.asm.ClassWriter;
 import org.objectweb.asm.Handle;
 import org.objectweb.asm.MethodVisitor;
@@ -167,11 +168,27 @@ final class Enhancer extends AbstractGlueGenerator {
     super(hostClass, ENHANCER_BY_GUICE_MARKER);
     this.bridgeDelegates = bridgeDelegates;
 
-    // The enhancer now always generates a named proxy class, so emitted bytecode can safely
-    // downcast `this` and other proxy instances to the generated proxy type.
+    // Emitted bytecode can safely downcast `this` and other proxy instances to the generated
+    // proxy type, a hidden proxy class resolves references to its own name to itself.
     this.checkcastToProxy = proxyName;
   }
 
+  @Override
+  protected String cacheKeyExtra() {
+    // bridge methods not otherwise enhanced are rewritten to call their targets
+    return bridgeDelegates.entrySet().stream()
+        .map(e -> describe(e.getKey()) + "->" + describe(e.getValue()))
+        .sorted()
+        .collect(Collectors.joining(","));
+  }
+
+  private static String describe(Method method) {
+    return method.getDeclaringClass().getName()
+        + '.'
+        + method.getName()
+        + Type.getMethodDescriptor(method);
+  }
+
   @Override
   protected byte[] generateGlue(Collection<Executable> members) {
     ClassWriter cw = new ClassWriter(COMPUTE_MAXS);
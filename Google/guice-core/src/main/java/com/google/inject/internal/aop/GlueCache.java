@@ -0,0 +1,192 @@
+package com.google.inject.internal.aop;
+
+import com.google.common.io.BaseEncoding;
+import com.google.common.io.ByteStreams;
+import com.google.inject.internal.InternalFlags;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.objectweb.asm.Type;
+
+/**
+ * Optional on-disk cache of generated enhancer/fast-class bytecode, so later runs of the same
+ * application can define their glue classes without generating them again. Enabled by pointing
+ * {@code -Dguice_bytecode_cache_dir} at a directory, which may be shared by several JVMs.
+ *
+ * <p>Entries are keyed by a SHA-256 digest of everything the generated bytecode depends on: the
+ * glue generator itself (as class-file content), the host class's class-file content, and the
+ * signature of every constructor and intercepted method included in the glue. Hosts whose class
+ * files can't be read (such as other generated classes) are never cached.
+ *
+ * <p>The directory must only be writable by trusted users: its contents are defined as classes
+ * next to the host class. Cached bytecode that fails to define is replaced by fresh glue, and any
+ * I/O failure simply disables the cache for that class.
+ */
+final class GlueCache {
+  private GlueCache() {}
+
+  private static final Logger logger = Logger.getLogger(GlueCache.class.getName());
+
+  /** Bump when the key or file format changes. */
+  private static final String FORMAT = "guice-glue-1";
+
+  private static final String SUFFIX = ".class";
+
+  private static final Path DIRECTORY = directory();
+
+  /** Digest of the class files that make up each generator, so new Guice builds miss the cache. */
+  private static final ClassValue<byte[]> GENERATOR_DIGESTS =
+      new ClassValue<byte[]>() {
+        @Override
+        protected byte[] computeValue(Class<?> generator) {
+          MessageDigest digest = newDigest();
+          for (Class<?> c = generator; c != Object.class; c = c.getSuperclass()) {
+            byte[] bytecode = classFile(c);
+            if (bytecode == null) {
+              return null;
+            }
+            digest.update(bytecode);
+          }
+          return digest.digest();
+        }
+      };
+
+  private static Path directory() {
+    String directory = InternalFlags.getBytecodeCacheDirectory();
+    if (directory == null) {
+      return null;
+    }
+    try {
+      return Files.createDirectories(Paths.get(directory));
+    } catch (IOException | RuntimeException e) {
+      logger.log(Level.WARNING, "Unable to use " + directory + " as bytecode cache", e);
+      return null;
+    }
+  }
+
+  static boolean isEnabled() {
+    return DIRECTORY != null;
+  }
+
+  /**
+   * Returns the cache key for glue made by {@code generator} for {@code hostClass}, or null if the
+   * glue can't be cached.
+   *
+   * @param extra anything else the generated bytecode depends on
+   */
+  static String key(
+      Class<?> generator, Class<?> hostClass, Collection<Executable> members, String extra) {
+    byte[] generatorDigest = GENERATOR_DIGESTS.get(generator);
+    byte[] hostBytecode = classFile(hostClass);
+    if (generatorDigest == null || hostBytecode == null) {
+      return null;
+    }
+    MessageDigest digest = newDigest();
+    update(digest, FORMAT);
+    digest.update(generatorDigest);
+    update(digest, hostClass.getName());
+    digest.update(hostBytecode);
+    update(digest, Boolean.toString(ClassDefining.hasPackageAccess()));
+    update(digest, Boolean.toString(ClassDefining.canLoadProxyByName(hostClass)));
+    for (Executable member : members) {
+      update(digest, describe(member));
+    }
+    update(digest, extra);
+    return BaseEncoding.base16().lowerCase().encode(digest.digest());
+  }
+
+  /** Returns the bytecode cached under {@code key}, or null if there is none. */
+  static byte[] read(String key) {
+    try {
+      return Files.readAllBytes(DIRECTORY.resolve(key + SUFFIX));
+    } catch (NoSuchFileException e) {
+      return null;
+    } catch (IOException | RuntimeException e) {
+      logger.log(Level.FINE, "Unable to read cached bytecode " + key, e);
+      return null;
+    }
+  }
+
+  /** Stores {@code bytecode} under {@code key}, atomically so concurrent JVMs never see a part. */
+  static void write(String key, byte[] bytecode) {
+    Path target = DIRECTORY.resolve(key + SUFFIX);
+    Path temp = null;
+    try {
+      temp = Files.createTempFile(DIRECTORY, key, ".tmp");
+      Files.write(temp, bytecode);
+      try {
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } catch (IOException | RuntimeException e) {
+      logger.log(Level.FINE, "Unable to cache bytecode " + key, e);
+      if (temp != null) {
+        try {
+          Files.deleteIfExists(temp);
+        } catch (IOException ignored) {
+          // best effort
+        }
+      }
+    }
+  }
+
+  /** Describes a member as precisely as the generated glue depends on it. */
+  private static String describe(Executable member) {
+    StringBuilder description =
+        new StringBuilder()
+            .append(member.getDeclaringClass().getName())
+            .append(' ')
+            .append(member.getModifiers())
+            .append(' ');
+    if (member instanceof Constructor<?>) {
+      description.append("<init>").append(Type.getConstructorDescriptor((Constructor<?>) member));
+    } else {
+      description.append(member.getName()).append(Type.getMethodDescriptor((Method) member));
+    }
+    for (Class<?> exceptionType : member.getExceptionTypes()) {
+      description.append(' ').append(exceptionType.getName());
+    }
+    return description.toString();
+  }
+
+  /** Returns the content of the class file that defined {@code clazz}, or null if unavailable. */
+  private static byte[] classFile(Class<?> clazz) {
+    String name = clazz.getName();
+    // class files are never encapsulated, so this works for classes in named modules too
+    try (InputStream in =
+        clazz.getResourceAsStream(name.substring(name.lastIndexOf('.') + 1) + SUFFIX)) {
+      return in != null ? ByteStreams.toByteArray(in) : null;
+    } catch (IOException | UncheckedIOException e) {
+      return null;
+    }
+  }
+
+  private static void update(MessageDigest digest, String value) {
+    digest.update(value.getBytes(StandardCharsets.UTF_8));
+    digest.update((byte) 0);
+  }
+
+  private static MessageDigest newDigest() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new AssertionError(e); // every JDK provides SHA-256
+    }
+  }
+}
@@ -0,0 +1,22 @@
+package com.google.inject.internal.aop;
+
+import java.lang.invoke.MethodHandles.Lookup;
+import java.lang.invoke.MethodHandles.Lookup.ClassOption;
+
+/**
+ * {@link ClassDefiner} that defines hidden classes using {@code
+ * MethodHandles.Lookup#defineHiddenClass}. Classes defined this way are nest-mates of the host
+ * class, can't be looked up by name and are unloaded as soon as they're unreachable, whether or not
+ * their class loader is.
+ */
+final class HiddenClassDefiner implements ClassDefiner {
+
+  @Override
+  public Class<?> define(Class<?> hostClass, byte[] bytecode) throws Exception {
+    Lookup lookup = NamedClassDefiner.hostLookup(hostClass);
+    if (!lookup.hasFullPrivilegeAccess()) {
+      throw new IllegalAccessException("No full privilege access to " + hostClass.getName());
+    }
+    return lookup.defineHiddenClass(bytecode, false, ClassOption.NESTMATE).lookupClass();
+  }
+}
@@ -30,6 +30,14 @@ final class NamedClassDefiner implements ClassDefiner {
 
   @Override
   public Class<?> define(Class<?> hostClass, byte[] bytecode) throws Exception {
+    return defineClass(hostLookup(hostClass), bytecode, hostClass);
+  }
+
+  /**
+   * Returns a lookup on {@code hostClass} with private access if possible, first opening the host's
+   * package to Guice when both are in named modules.
+   */
+  static Lookup hostLookup(Class<?> hostClass) {
     try {
       Module guiceModule = NamedClassDefiner.class.getModule();
       Module hostModule = hostClass.getModule();
@@ -47,13 +55,11 @@ final class NamedClassDefiner implements ClassDefiner {
       // or the fallback lookup strategies below.
     }
 
-    Lookup initialLookup;
     try {
-      initialLookup = MethodHandles.privateLookupIn(hostClass, MethodHandles.lookup());
+      return MethodHandles.privateLookupIn(hostClass, MethodHandles.lookup());
     } catch (IllegalAccessException e) {
-      initialLookup = MethodHandles.lookup().in(hostClass);
+      return MethodHandles.lookup().in(hostClass);
     }
-    return defineClass(initialLookup, bytecode, hostClass);
   }
 
   private Class<?> defineClass(Lookup lookup, byte[] bytecode, Class<?> hostClass) throws Exception {
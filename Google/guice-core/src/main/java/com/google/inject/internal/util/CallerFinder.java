@@ -8,4 +8,10 @@ import java.util.function.Predicate;
  */
 interface CallerFinder {
   StackTraceElement findCaller(Predicate<String> shouldBeSkipped);
+
+  /**
+   * Finds the same caller as {@link #findCaller}, but only records its class and method names,
+   * leaving out the file name and line number.
+   */
+  StackTraceElement findCallerName(Predicate<String> shouldBeSkipped);
 }
@@ -17,8 +17,13 @@
 package com.google.inject.internal.util;
 
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 import com.google.common.base.Stopwatch;
+import com.google.common.collect.ImmutableMap;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.logging.Logger;
 
 /**
@@ -30,6 +35,7 @@ import java.util.logging.Logger;
 public final class ContinuousStopwatch {
   private final Logger logger = Logger.getLogger(ContinuousStopwatch.class.getName());
   private final Stopwatch stopwatch;
+  private final Map<String, Long> lapNanos = new LinkedHashMap<>();
 
   /**
    * Constructs a ContinuousStopwatch, which will start timing immediately after construction.
@@ -49,8 +55,21 @@ public final class ContinuousStopwatch {
     return elapsedTimeMs;
   }
 
-  /** Resets and logs elapsed time in milliseconds. */
+  /** Resets, logs elapsed time in milliseconds and adds it to the time recorded for the label. */
   public void resetAndLog(String label) {
-    logger.fine(label + ": " + reset() + "ms");
+    long elapsedTimeNanos = stopwatch.elapsed(NANOSECONDS);
+    stopwatch.reset();
+    stopwatch.start();
+    lapNanos.merge(label, elapsedTimeNanos, Long::sum);
+    logger.fine(label + ": " + NANOSECONDS.toMillis(elapsedTimeNanos) + "ms");
+  }
+
+  /** Returns the total time logged under each label, in the order the labels were first logged. */
+  public ImmutableMap<String, Duration> getLaps() {
+    ImmutableMap.Builder<String, Duration> laps = ImmutableMap.builder();
+    for (Map.Entry<String, Long> lap : lapNanos.entrySet()) {
+      laps.put(lap.getKey(), Duration.ofNanos(lap.getValue()));
+    }
+    return laps.buildOrThrow();
   }
 }
@@ -38,7 +38,7 @@ public final class SourceProvider {
 
   public static final SourceProvider DEFAULT_INSTANCE =
       new SourceProvider(
-          ImmutableSet.of(SourceProvider.class.getName(), NewThrowableFinder.class.getName()));
+          ImmutableSet.of(SourceProvider.class.getName(), StackWalkerFinder.class.getName()));
 
   private SourceProvider(Iterable<String> classesToSkip) {
     this(null, classesToSkip);
@@ -84,6 +84,14 @@ public final class SourceProvider {
     return FINDER.findCaller(this::shouldBeSkipped);
   }
 
+  /**
+   * Returns the class and method name of the calling line of code, without its file name and line
+   * number. Cheaper than {@link #getCaller} as the JVM doesn't need to resolve the line number.
+   */
+  public StackTraceElement getCallerName() {
+    return FINDER.findCallerName(this::shouldBeSkipped);
+  }
+
   /** Returns the non-skipped module class name. */
   public Object getFromClassNames(List<String> moduleClassNames) {
     Preconditions.checkNotNull(moduleClassNames, "The list of module class names cannot be null.");
@@ -96,6 +104,6 @@ public final class SourceProvider {
   }
 
   private static CallerFinder loadCallerFinder() {
-    return new NewThrowableFinder();
+    return new StackWalkerFinder();
   }
 }
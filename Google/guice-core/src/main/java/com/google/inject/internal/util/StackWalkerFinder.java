@@ -0,0 +1,31 @@
+package com.google.inject.internal.util;
+
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * A CallerFinder that walks the stack lazily, stopping at the first frame that isn't skipped. Only
+ * the frames above the caller are visited, and only the caller is turned into a {@link
+ * StackTraceElement}.
+ */
+final class StackWalkerFinder implements CallerFinder {
+  private static final StackWalker WALKER = StackWalker.getInstance();
+
+  @Override
+  public StackTraceElement findCaller(Predicate<String> shouldBeSkipped) {
+    return findFrame(shouldBeSkipped).toStackTraceElement();
+  }
+
+  @Override
+  public StackTraceElement findCallerName(Predicate<String> shouldBeSkipped) {
+    StackWalker.StackFrame frame = findFrame(shouldBeSkipped);
+    return new StackTraceElement(frame.getClassName(), frame.getMethodName(), null, -1);
+  }
+
+  private static StackWalker.StackFrame findFrame(Predicate<String> shouldBeSkipped) {
+    Optional<StackWalker.StackFrame> frame =
+        WALKER.walk(
+            frames -> frames.filter(f -> !shouldBeSkipped.test(f.getClassName())).findFirst());
+    return frame.orElseThrow(AssertionError::new);
+  }
+}
@@ -19,12 +19,16 @@ package com.google.inject.matcher;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
+import com.google.inject.internal.GuiceInternal;
 import java.io.Serializable;
 import java.lang.annotation.Annotation;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Method;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Matcher implementations. Supports matching classes and methods.
@@ -472,4 +476,35 @@ public class Matchers {
 
     private static final long serialVersionUID = 0;
   }
+
+  /**
+   * Returns annotation types of which every element matched by {@code matcher} has at least one, or
+   * null if the matcher may also match elements without annotations. Only {@link
+   * #annotatedWith(Class)}, {@link #annotatedWith(Annotation)} and their conjunctions and
+   * disjunctions are analyzed, any other matcher is assumed to match anything.
+   */
+  @Nullable
+  public static ImmutableSet<Class<? extends Annotation>> requiredAnnotations(
+      GuiceInternal guiceInternal, Matcher<?> matcher) {
+    checkNotNull(guiceInternal);
+    if (matcher instanceof AnnotatedWithType) {
+      return ImmutableSet.of(((AnnotatedWithType) matcher).annotationType);
+    } else if (matcher instanceof AnnotatedWith) {
+      return ImmutableSet.of(((AnnotatedWith) matcher).annotation.annotationType());
+    } else if (matcher instanceof AndMatcher) {
+      AndMatcher<?> and = (AndMatcher<?>) matcher;
+      ImmutableSet<Class<? extends Annotation>> a = requiredAnnotations(guiceInternal, and.a);
+      ImmutableSet<Class<? extends Annotation>> b = requiredAnnotations(guiceInternal, and.b);
+      if (a == null || b == null) {
+        return a != null ? a : b;
+      }
+      return a.size() <= b.size() ? a : b;
+    } else if (matcher instanceof OrMatcher) {
+      OrMatcher<?> or = (OrMatcher<?>) matcher;
+      ImmutableSet<Class<? extends Annotation>> a = requiredAnnotations(guiceInternal, or.a);
+      ImmutableSet<Class<? extends Annotation>> b = requiredAnnotations(guiceInternal, or.b);
+      return a != null && b != null ? Sets.union(a, b).immutableCopy() : null;
+    }
+    return null;
+  }
 }
@@ -0,0 +1,181 @@
+package com.google.inject.metrics;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.MetricSet;
+import com.codahale.metrics.Reservoir;
+import com.codahale.metrics.Snapshot;
+import com.google.inject.Binder;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.spi.ProvisionMetrics;
+import com.google.inject.spi.ProvisionMetrics.Distribution;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The {@link ProvisionMetrics} of an injector as Dropwizard histograms of provision times in
+ * nanoseconds, one per key, named after the key's type and binding annotation:
+ *
+ * <pre>
+ * registry.register("guice.provision", new ProvisionMetricSet(injector));
+ * </pre>
+ *
+ * <p>The histograms read the injector's own recordings whenever they are reported, so nothing is
+ * recorded twice. The set holds the keys with recordings when it is created; register it after the
+ * injector is created, and again under another name to pick up just-in-time bindings created later.
+ *
+ * <p>Requires the optional {@code com.codahale.metrics} module.
+ */
+public final class ProvisionMetricSet implements MetricSet {
+  private final Injector injector;
+
+  /**
+   * @throws IllegalArgumentException if {@code injector} doesn't {@link
+   *     Binder#recordProvisionMetrics() record provision metrics}
+   */
+  public ProvisionMetricSet(Injector injector) {
+    checkArgument(
+        ProvisionMetrics.isRecorded(checkNotNull(injector, "injector")),
+        "The injector doesn't record provision metrics, see Binder.recordProvisionMetrics()");
+    this.injector = injector;
+  }
+
+  @Override
+  public Map<String, Metric> getMetrics() {
+    Map<String, Metric> metrics = new LinkedHashMap<>();
+    for (Key<?> key : ProvisionMetrics.of(injector).getDistributions().keySet()) {
+      metrics.put(name(key), new KeyHistogram(injector, key));
+    }
+    return metrics;
+  }
+
+  private static String name(Key<?> key) {
+    String type = key.getTypeLiteral().toString();
+    if (key.getAnnotation() != null) {
+      return MetricRegistry.name(type, key.getAnnotation().toString());
+    } else if (key.getAnnotationType() != null) {
+      return MetricRegistry.name(type, "@" + key.getAnnotationType().getName());
+    }
+    return type;
+  }
+
+  /** A histogram over the recordings of one key. Updating it has no effect. */
+  private static final class KeyHistogram extends Histogram {
+    private final Injector injector;
+    private final Key<?> key;
+
+    KeyHistogram(Injector injector, Key<?> key) {
+      super(new ProvisionReservoir(injector, key));
+      this.injector = injector;
+      this.key = key;
+    }
+
+    @Override
+    public long getCount() {
+      Distribution distribution = ProvisionMetrics.distributionOf(injector, key);
+      return distribution != null ? distribution.getCount() : 0;
+    }
+
+    @Override
+    public void update(int value) {}
+
+    @Override
+    public void update(long value) {}
+  }
+
+  private static final class ProvisionReservoir implements Reservoir {
+    private final Injector injector;
+    private final Key<?> key;
+
+    ProvisionReservoir(Injector injector, Key<?> key) {
+      this.injector = injector;
+      this.key = key;
+    }
+
+    @Override
+    public int size() {
+      return getSnapshot().size();
+    }
+
+    @Override
+    public void update(long value) {}
+
+    @Override
+    public Snapshot getSnapshot() {
+      return new DistributionSnapshot(ProvisionMetrics.distributionOf(injector, key));
+    }
+  }
+
+  /**
+   * A snapshot of a {@link Distribution}. Its values are the provision times at each whole
+   * percentile, which is all the detail the distribution keeps.
+   */
+  private static final class DistributionSnapshot extends Snapshot {
+    private final Distribution distribution;
+
+    DistributionSnapshot(Distribution distribution) {
+      this.distribution = distribution;
+    }
+
+    @Override
+    public double getValue(double quantile) {
+      return distribution != null ? distribution.getQuantile(quantile).toNanos() : 0;
+    }
+
+    @Override
+    public long[] getValues() {
+      if (distribution == null || distribution.getCount() == 0) {
+        return new long[0];
+      }
+      long[] values = new long[101];
+      for (int percentile = 0; percentile <= 100; percentile++) {
+        values[percentile] = distribution.getQuantile(percentile / 100d).toNanos();
+      }
+      return values;
+    }
+
+    @Override
+    public int size() {
+      return getValues().length;
+    }
+
+    @Override
+    public long getMax() {
+      return distribution != null ? distribution.getMax().toNanos() : 0;
+    }
+
+    @Override
+    public double getMean() {
+      return distribution != null ? distribution.getMean().toNanos() : 0;
+    }
+
+    @Override
+    public long getMin() {
+      return distribution != null ? distribution.getMin().toNanos() : 0;
+    }
+
+    @Override
+    public double getStdDev() {
+      return distribution != null ? distribution.getStandardDeviation().toNanos() : 0;
+    }
+
+    @Override
+    public void dump(OutputStream output) {
+      try (PrintWriter out =
+          new PrintWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8))) {
+        for (long value : getValues()) {
+          out.printf("%d%n", value);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,2 @@
+/** Exports Guice's {@link com.google.inject.spi.ProvisionMetrics} to Dropwizard Metrics. */
+package com.google.inject.metrics;
@@ -16,6 +16,7 @@ import com.google.inject.internal.GuiceInternal;
 import java.util.regex.Pattern;
 import java.lang.annotation.Annotation;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Deque;
 import java.util.Formatter;
@@ -282,6 +283,8 @@ public final class BindingSourceRestriction {
     final Deque<ImmutableSet<Class<? extends Annotation>>> modulePermitsStack = new ArrayDeque<>();
 
     final PermitMapImpl permitMap = new PermitMapImpl();
+    // Maps of constructions merged into this one, finished along with it.
+    final List<PermitMapImpl> mergedPermitMaps = new ArrayList<>();
 
     /**
      * Returns a possibly unfinished map. The map should only be used after the construction is
@@ -325,9 +328,22 @@ public final class BindingSourceRestriction {
       currentModulePermits = modulePermitsStack.pop();
     }
 
+    /**
+     * Adds the permits recorded by {@code other}, a construction used to record a module
+     * concurrently, so that its {@link PermitMap} is finished along with this one.
+     */
+    void merge(PermitMapConstruction other) {
+      modulePermits.putAll(other.modulePermits);
+      mergedPermitMaps.add(other.permitMap);
+      mergedPermitMaps.addAll(other.mergedPermitMaps);
+    }
+
     /** Finishes the {@link PermitMap}. Called by the Binder when all modules are installed. */
     void finish() {
       permitMap.modulePermits = modulePermits;
+      for (PermitMapImpl mergedPermitMap : mergedPermitMaps) {
+        mergedPermitMap.modulePermits = modulePermits;
+      }
     }
 
     @VisibleForTesting
@@ -99,6 +99,21 @@ public abstract class DefaultElementVisitor<V> implements ElementVisitor<V> {
     return visitOther(option);
   }
 
+  @Override
+  public V visit(ParallelSingletonPreloadingOption option) {
+    return visitOther(option);
+  }
+
+  @Override
+  public V visit(RecordProvisionMetricsOption option) {
+    return visitOther(option);
+  }
+
+  @Override
+  public V visit(RecordSourceNamesOnlyOption option) {
+    return visitOther(option);
+  }
+
   @Override
   public V visit(RequireExplicitBindingsOption option) {
     return visitOther(option);
@@ -89,6 +89,15 @@ public interface ElementVisitor<V> {
    */
   V visit(DisableCircularProxiesOption option);
 
+  /** Visit a parallel singleton preloading command. */
+  V visit(ParallelSingletonPreloadingOption option);
+
+  /** Visit a record provision metrics command. */
+  V visit(RecordProvisionMetricsOption option);
+
+  /** Visit a record source names only command. */
+  V visit(RecordSourceNamesOnlyOption option);
+
   /**
    * Visit a require explicit {@literal @}{@link Inject} command.
    *
@@ -19,6 +19,7 @@ package com.google.inject.spi;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.inject.internal.InternalFlags.getIncludeStackTraceOption;
+import static com.google.inject.internal.InternalFlags.isParallelModuleConfigurationEnabled;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
@@ -67,12 +68,29 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
 import org.aopalliance.intercept.MethodInterceptor;
 
 /**
  * Exposes elements of a module so they can be inspected, validated or {@link
  * Element#applyTo(Binder) rewritten}.
  *
+ * <p>With the {@code guice_parallel_module_configuration} flag set to {@code ENABLED}, the
+ * top-level modules passed to {@link #getElements(Stage, Iterable)} are configured concurrently on
+ * the common fork/join pool, each into its own list of elements, and the lists are concatenated in
+ * the order the modules were passed. Pool threads run with the calling thread's context class
+ * loader. The result is the same as configuring them one by one: a module that installs a module
+ * already installed by an earlier one, that registers a {@link ModuleAnnotatedMethodScanner}, or
+ * that was recorded before an earlier module called {@link Binder#recordSourceNamesOnly} is
+ * configured again on the calling thread once the modules before it are merged.
+ *
+ * <p><strong>The {@code configure} methods of such a module, and of the modules it installs, then
+ * run twice.</strong> Only enable the flag for modules whose configuration has no side effects
+ * beyond the binder.
+ *
  * @author jessewilson@google.com (Jesse Wilson)
  * @since 2.0
  */
@@ -109,8 +127,12 @@ public final class Elements {
   /** Records the elements executed by {@code modules}. */
   public static List<Element> getElements(Stage stage, Iterable<? extends Module> modules) {
     RecordingBinder binder = new RecordingBinder(stage);
-    for (Module module : modules) {
-      binder.install(module);
+    if (isParallelModuleConfigurationEnabled()) {
+      binder.installConcurrently(Lists.newArrayList(modules));
+    } else {
+      for (Module module : modules) {
+        binder.install(module);
+      }
     }
     binder.scanForAnnotatedMethods();
     for (RecordingBinder child : binder.privateBindersForScanning) {
@@ -212,6 +234,13 @@ public final class Elements {
     private final List<RecordingBinder> privateBindersForScanning;
 
     private final BindingSourceRestriction.PermitMapConstruction permitMapConstruction;
+    /**
+     * Whether declaring sources are recorded without line numbers, shared by all binders on one
+     * thread.
+     */
+    private final SourceCapture sourceCapture;
+    /** The state of a binder recording one module on a pool thread, or null. */
+    private final ForkedRecording forkedRecording;
 
     /** The current modules stack */
     private ModuleSource moduleSource = null;
@@ -238,6 +267,26 @@ public final class Elements {
       this.privateElements = null;
       this.privateBindersForScanning = Lists.newArrayList();
       this.permitMapConstruction = new BindingSourceRestriction.PermitMapConstruction();
+      this.sourceCapture = new SourceCapture(false);
+      this.forkedRecording = null;
+    }
+
+    /** Creates a binder that records one top-level module of {@code root} on a pool thread. */
+    private RecordingBinder(RecordingBinder root) {
+      this.stage = root.stage;
+      this.modules = Maps.newLinkedHashMap();
+      // Only read once all modules are merged, scanners registered here are never added to it.
+      this.scanners = root.scanners;
+      this.elements = Lists.newArrayList();
+      this.source = null;
+      this.sourceProvider = DEFAULT_SOURCE_PROVIDER;
+      this.parent = null;
+      this.privateElements = null;
+      this.privateBindersForScanning = Lists.newArrayList();
+      this.permitMapConstruction = new BindingSourceRestriction.PermitMapConstruction();
+      // Starts from the option as recorded so far; merge() checks that it's still the same then.
+      this.sourceCapture = new SourceCapture(root.sourceCapture.namesOnly);
+      this.forkedRecording = new ForkedRecording(root.sourceCapture.namesOnly);
     }
 
     /** Creates a recording binder that's backed by {@code prototype}. */
@@ -261,6 +310,8 @@ public final class Elements {
       this.privateElements = prototype.privateElements;
       this.privateBindersForScanning = prototype.privateBindersForScanning;
       this.permitMapConstruction = prototype.permitMapConstruction;
+      this.sourceCapture = prototype.sourceCapture;
+      this.forkedRecording = prototype.forkedRecording;
       this.scannerSource = prototype.scannerSource;
     }
 
@@ -278,6 +329,8 @@ public final class Elements {
       this.privateElements = privateElements;
       this.privateBindersForScanning = parent.privateBindersForScanning;
       this.permitMapConstruction = parent.permitMapConstruction;
+      this.sourceCapture = parent.sourceCapture;
+      this.forkedRecording = parent.forkedRecording;
       this.scannerSource = parent.scannerSource;
     }
 
@@ -342,6 +395,55 @@ public final class Elements {
       }
     }
 
+    /**
+     * Installs {@code modules} in order, configuring all but the first concurrently. The first is
+     * usually Guice's own root module, so it's installed directly, and so are the {@link
+     * #getModule element modules} right after it: they only replay elements, and they settle
+     * options such as {@link #recordSourceNamesOnly} before any other module is recorded.
+     */
+    void installConcurrently(List<Module> modules) {
+      if (modules.size() < 3 || ForkJoinPool.getCommonPoolParallelism() < 2) {
+        for (Module module : modules) {
+          install(module);
+        }
+        return;
+      }
+      install(modules.get(0));
+      int first = 1;
+      while (first < modules.size() && modules.get(first) instanceof ElementsAsModule) {
+        install(modules.get(first++));
+      }
+      ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+      List<ForkJoinTask<RecordingBinder>> recordings = Lists.newArrayList();
+      for (Module module : modules.subList(first, modules.size())) {
+        recordings.add(
+            new ModuleRecordingTask(new RecordingBinder(this), module, contextClassLoader).fork());
+      }
+      for (int i = 0; i < recordings.size(); i++) {
+        if (!merge(recordings.get(i).join())) {
+          install(modules.get(first + i));
+        }
+      }
+    }
+
+    /**
+     * Adds the elements and modules {@code recording} recorded to this binder, if that's the same
+     * as installing its module here, and returns false otherwise.
+     */
+    private boolean merge(RecordingBinder recording) {
+      if (recording.forkedRecording.scannerRegistered
+          || recording.forkedRecording.namesOnlyWhenForked != sourceCapture.namesOnly
+          || !Collections.disjoint(modules.keySet(), recording.modules.keySet())) {
+        return false;
+      }
+      sourceCapture.namesOnly = recording.sourceCapture.namesOnly;
+      modules.putAll(recording.modules);
+      elements.addAll(recording.elements);
+      privateBindersForScanning.addAll(recording.privateBindersForScanning);
+      permitMapConstruction.merge(recording.permitMapConstruction);
+      return true;
+    }
+
     /**
      * Applies all scanners to the modules we've installed. We skip certain PrivateModules because
      * store them in more than one Modules map and only want to process them through one of the
@@ -584,6 +686,22 @@ public final class Elements {
       elements.add(new DisableCircularProxiesOption(getElementSource()));
     }
 
+    @Override
+    public void preloadSingletonsInParallel(Executor executor) {
+      elements.add(new ParallelSingletonPreloadingOption(getElementSource(), executor));
+    }
+
+    @Override
+    public void recordProvisionMetrics() {
+      elements.add(new RecordProvisionMetricsOption(getElementSource()));
+    }
+
+    @Override
+    public void recordSourceNamesOnly() {
+      elements.add(new RecordSourceNamesOnlyOption(getElementSource()));
+      sourceCapture.namesOnly = true;
+    }
+
     @Override
     public void requireExplicitBindings() {
       elements.add(new RequireExplicitBindingsOption(getElementSource()));
@@ -608,6 +726,12 @@ public final class Elements {
             currentScanner, scanner);
         return;
       }
+      if (forkedRecording != null && privateElements == null) {
+        // Scanners apply to the modules recorded on other threads too, so this module is
+        // configured again once they are merged.
+        forkedRecording.scannerRegistered = true;
+        return;
+      }
       scanners.add(scanner);
       elements.add(new ModuleAnnotatedMethodScannerBinding(getElementSource(), scanner));
     }
@@ -667,13 +791,15 @@ public final class Elements {
       if (declaringSource == null) {
         IncludeStackTraceOption stackTraceOption = getIncludeStackTraceOption();
         if (stackTraceOption == IncludeStackTraceOption.ONLY_FOR_DECLARING_SOURCE) {
-          StackTraceElement callingSource = sourceProvider.getCaller();
+          StackTraceElement callingSource =
+              sourceCapture.namesOnly ? sourceProvider.getCallerName() : sourceProvider.getCaller();
           // If we've traversed past all reasonable sources and into our internal code, then we
           // don't know the source.
-          if (callingSource
-                  .getClassName()
-                  .equals("com.google.inject.internal.InjectorShell$Builder")
-              && callingSource.getMethodName().equals("build")) {
+          if ((callingSource
+                      .getClassName()
+                      .equals("com.google.inject.internal.InjectorShell$Builder")
+                  && callingSource.getMethodName().equals("build"))
+              || callingSource.getClassName().equals(ModuleRecordingTask.class.getName())) {
             declaringSource = SourceProvider.UNKNOWN_SOURCE;
           } else {
             declaringSource = callingSource;
@@ -698,4 +824,62 @@ public final class Elements {
       return "Binder";
     }
   }
+
+  /**
+   * How declaring sources are captured while modules are being recorded on one thread. A module
+   * recorded on a pool thread gets its own, so that it never sees the option set by a module that
+   * comes after it.
+   */
+  private static final class SourceCapture {
+    /** Set by {@link Binder#recordSourceNamesOnly}, for the elements recorded after it. */
+    private boolean namesOnly;
+
+    SourceCapture(boolean namesOnly) {
+      this.namesOnly = namesOnly;
+    }
+  }
+
+  /** What a binder recording one top-level module on a pool thread couldn't record itself. */
+  private static final class ForkedRecording {
+    /** Whether sources were recorded without line numbers when the module started recording. */
+    private final boolean namesOnlyWhenForked;
+
+    private boolean scannerRegistered;
+
+    ForkedRecording(boolean namesOnlyWhenForked) {
+      this.namesOnlyWhenForked = namesOnlyWhenForked;
+    }
+  }
+
+  /**
+   * Records one top-level module into its own binder, with the context class loader of the thread
+   * that creates the injector, so that lookups that depend on it (such as the gee providers) resolve
+   * the same as they would there.
+   */
+  private static final class ModuleRecordingTask extends RecursiveTask<RecordingBinder> {
+    private static final long serialVersionUID = 0;
+
+    private final transient RecordingBinder binder;
+    private final transient Module module;
+    private final transient ClassLoader contextClassLoader;
+
+    ModuleRecordingTask(RecordingBinder binder, Module module, ClassLoader contextClassLoader) {
+      this.binder = binder;
+      this.module = module;
+      this.contextClassLoader = contextClassLoader;
+    }
+
+    @Override
+    protected RecordingBinder compute() {
+      Thread thread = Thread.currentThread();
+      ClassLoader poolClassLoader = thread.getContextClassLoader();
+      thread.setContextClassLoader(contextClassLoader);
+      try {
+        binder.install(module);
+      } finally {
+        thread.setContextClassLoader(poolClassLoader);
+      }
+      return binder;
+    }
+  }
 }
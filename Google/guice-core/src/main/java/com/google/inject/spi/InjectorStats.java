@@ -0,0 +1,134 @@
+package com.google.inject.spi;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.ImmutableMap;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.internal.InjectorStatsRecorder;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+
+/**
+ * A snapshot of where an injector spent its time being created, and how many just-in-time bindings
+ * it has created since. Use it to find which phases and which eager singletons dominate startup:
+ *
+ * <pre>
+ * InjectorStats stats = InjectorStats.of(injector);
+ * stats.getEagerSingletonTimes().entrySet().stream().limit(10).forEach(System.out::println);
+ * </pre>
+ *
+ * <p>Phase times cover the whole {@code createInjector} (or {@code createChildInjector}) call that
+ * created the injector, including any private environments created with it. Eager singleton times
+ * are inclusive: a singleton that is first created as a dependency of another is charged to both.
+ *
+ * <p>The cache statistics show how often the injector found an existing members injector or
+ * constructor injector, and how long it spent creating the others. Their load times are inclusive
+ * in the same way.
+ */
+public final class InjectorStats {
+  private final ImmutableMap<String, Duration> phaseTimes;
+  private final ImmutableMap<Key<?>, Duration> eagerSingletonTimes;
+  private final long jitBindingCount;
+  private final CacheStats membersInjectorCacheStats;
+  private final CacheStats constructorInjectorCacheStats;
+
+  private InjectorStats(
+      ImmutableMap<String, Duration> phaseTimes,
+      ImmutableMap<Key<?>, Duration> eagerSingletonTimes,
+      long jitBindingCount,
+      CacheStats membersInjectorCacheStats,
+      CacheStats constructorInjectorCacheStats) {
+    this.phaseTimes = phaseTimes;
+    this.eagerSingletonTimes = eagerSingletonTimes;
+    this.jitBindingCount = jitBindingCount;
+    this.membersInjectorCacheStats = membersInjectorCacheStats;
+    this.constructorInjectorCacheStats = constructorInjectorCacheStats;
+  }
+
+  /**
+   * Returns the current statistics of {@code injector}.
+   *
+   * @throws IllegalArgumentException if {@code injector} wasn't created by Guice
+   */
+  public static InjectorStats of(Injector injector) {
+    InjectorStatsRecorder recorder = InjectorStatsRecorder.of(checkNotNull(injector, "injector"));
+    ImmutableMap<Key<?>, Duration> eagerSingletonTimes =
+        recorder.getEagerSingletonTimes().entrySet().stream()
+            .sorted(Map.Entry.<Key<?>, Duration>comparingByValue(Comparator.reverseOrder()))
+            .collect(ImmutableMap.toImmutableMap(Map.Entry::getKey, Map.Entry::getValue));
+    return new InjectorStats(
+        recorder.getPhaseTimes(),
+        eagerSingletonTimes,
+        recorder.getJitBindingCount(),
+        recorder.getMembersInjectorCacheStats(),
+        recorder.getConstructorInjectorCacheStats());
+  }
+
+  /** Returns the total time taken to create the injector. */
+  public Duration getCreationTime() {
+    Duration total = Duration.ZERO;
+    for (Duration phaseTime : phaseTimes.values()) {
+      total = total.plus(phaseTime);
+    }
+    return total;
+  }
+
+  /**
+   * Returns the time spent in each phase of injector creation, such as {@code "Binding creation"}
+   * or {@code "Preloading singletons"}, in the order the phases first ran. Phases that run once per
+   * private environment are summed.
+   */
+  public ImmutableMap<String, Duration> getPhaseTimes() {
+    return phaseTimes;
+  }
+
+  /**
+   * Returns the time taken to provision each of the injector's eager singletons (all singletons in
+   * {@link com.google.inject.Stage#PRODUCTION}), slowest first. Empty in {@link
+   * com.google.inject.Stage#TOOL}.
+   */
+  public ImmutableMap<Key<?>, Duration> getEagerSingletonTimes() {
+    return eagerSingletonTimes;
+  }
+
+  /** Returns the number of just-in-time bindings the injector had created when this was taken. */
+  public long getJitBindingCount() {
+    return jitBindingCount;
+  }
+
+  /**
+   * Returns the statistics of the injector's cache of members injectors, which has an entry for
+   * each type the injector has constructed or injected members into.
+   */
+  public CacheStats getMembersInjectorCacheStats() {
+    return membersInjectorCacheStats;
+  }
+
+  /**
+   * Returns the statistics of the injector's cache of constructor injectors, which has an entry for
+   * each constructor the injector has bound.
+   */
+  public CacheStats getConstructorInjectorCacheStats() {
+    return constructorInjectorCacheStats;
+  }
+
+  @Override
+  public String toString() {
+    return "InjectorStats[creationTime="
+        + getCreationTime()
+        + ", phaseTimes="
+        + phaseTimes
+        + ", eagerSingletons="
+        + eagerSingletonTimes.size()
+        + ", jitBindingCount="
+        + jitBindingCount
+        + ", membersInjectorCache="
+        + membersInjectorCacheStats
+        + ", constructorInjectorCache="
+        + constructorInjectorCacheStats
+        + "]";
+  }
+}
@@ -0,0 +1,41 @@
+package com.google.inject.spi;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.inject.Binder;
+import java.util.concurrent.Executor;
+
+/**
+ * A request to create eager singletons concurrently on an executor.
+ *
+ * @see Binder#preloadSingletonsInParallel(Executor)
+ */
+public final class ParallelSingletonPreloadingOption implements Element {
+  private final Object source;
+  private final Executor executor;
+
+  ParallelSingletonPreloadingOption(Object source, Executor executor) {
+    this.source = checkNotNull(source, "source");
+    this.executor = checkNotNull(executor, "executor");
+  }
+
+  @Override
+  public Object getSource() {
+    return source;
+  }
+
+  /** Returns the executor that eager singletons are created on. */
+  public Executor getExecutor() {
+    return executor;
+  }
+
+  @Override
+  public void applyTo(Binder binder) {
+    binder.withSource(getSource()).preloadSingletonsInParallel(executor);
+  }
+
+  @Override
+  public <T> T acceptVisitor(ElementVisitor<T> visitor) {
+    return visitor.visit(this);
+  }
+}
@@ -0,0 +1,203 @@
+package com.google.inject.spi;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.inject.Binder;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.internal.ProvisionMetricsRecorder;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A snapshot of how often, and how fast, each binding of an injector and its ancestors has been
+ * provisioned. Only available for injectors that {@link Binder#recordProvisionMetrics() record
+ * provision metrics}:
+ *
+ * <pre>
+ * Injector injector = Guice.createInjector(Modules.recordProvisionMetricsModule(), ...);
+ * ...
+ * ProvisionMetrics.of(injector).getDistributions().forEach((key, distribution) -> ...);
+ * </pre>
+ *
+ * <p>Times are rounded to one of four ranges per power of two, so they are accurate to within
+ * 12.5%. Minimum, maximum and total times are exact.
+ */
+public final class ProvisionMetrics {
+  private static final String NOT_RECORDED =
+      "The injector doesn't record provision metrics, see Binder.recordProvisionMetrics()";
+
+  private final ImmutableMap<Key<?>, Distribution> distributions;
+
+  private ProvisionMetrics(ImmutableMap<Key<?>, Distribution> distributions) {
+    this.distributions = distributions;
+  }
+
+  /**
+   * Returns the current provision metrics of {@code injector}.
+   *
+   * @throws IllegalStateException if {@code injector} doesn't record provision metrics
+   * @throws IllegalArgumentException if {@code injector} wasn't created by Guice
+   */
+  public static ProvisionMetrics of(Injector injector) {
+    ProvisionMetricsRecorder recorder =
+        ProvisionMetricsRecorder.of(checkNotNull(injector, "injector"));
+    checkState(recorder != null, NOT_RECORDED);
+    ImmutableMap<Key<?>, Distribution> distributions =
+        recorder.snapshot().entrySet().stream()
+            .<Map.Entry<Key<?>, Distribution>>map(
+                entry -> Map.entry(entry.getKey(), new Distribution(entry.getValue())))
+            .sorted(
+                Map.Entry.comparingByValue(
+                    Comparator.comparingLong((Distribution d) -> d.totalNanos).reversed()))
+            .collect(ImmutableMap.toImmutableMap(Map.Entry::getKey, Map.Entry::getValue));
+    return new ProvisionMetrics(distributions);
+  }
+
+  /**
+   * Returns the current distribution of provision times for {@code key} in {@code injector} or its
+   * ancestors, or null if none is recorded. Cheaper than {@link #of} when only one key is of
+   * interest.
+   *
+   * @throws IllegalStateException if {@code injector} doesn't record provision metrics
+   * @throws IllegalArgumentException if {@code injector} wasn't created by Guice
+   */
+  @Nullable
+  public static Distribution distributionOf(Injector injector, Key<?> key) {
+    ProvisionMetricsRecorder recorder =
+        ProvisionMetricsRecorder.of(checkNotNull(injector, "injector"));
+    checkState(recorder != null, NOT_RECORDED);
+    long[] snapshot = recorder.snapshot(checkNotNull(key, "key"));
+    return snapshot != null ? new Distribution(snapshot) : null;
+  }
+
+  /** Returns true if {@code injector} records provision metrics. */
+  public static boolean isRecorded(Injector injector) {
+    return ProvisionMetricsRecorder.of(checkNotNull(injector, "injector")) != null;
+  }
+
+  /**
+   * Returns the distribution of provision times for each key, most total time first. A key bound
+   * in both the injector and an ancestor has the distribution of the injector's binding.
+   */
+  public ImmutableMap<Key<?>, Distribution> getDistributions() {
+    return distributions;
+  }
+
+  /** Returns the distribution of provision times for {@code key}, or null if none is recorded. */
+  @Nullable
+  public Distribution getDistribution(Key<?> key) {
+    return distributions.get(key);
+  }
+
+  @Override
+  public String toString() {
+    return "ProvisionMetrics" + distributions;
+  }
+
+  /** The provision times recorded for one key. */
+  public static final class Distribution {
+    private final long totalNanos;
+    private final long minNanos;
+    private final long maxNanos;
+    private final long count;
+    /** Recorded times in increasing order, and how many provisions took each. */
+    private final long[] nanos;
+
+    private final long[] counts;
+
+    /** Decodes a {@link ProvisionMetricsRecorder#snapshot histogram snapshot}. */
+    private Distribution(long[] snapshot) {
+      this.totalNanos = snapshot[0];
+      this.minNanos = snapshot[1];
+      this.maxNanos = snapshot[2];
+      int size = (snapshot.length - 3) / 2;
+      this.nanos = new long[size];
+      this.counts = new long[size];
+      long count = 0;
+      for (int i = 0; i < size; i++) {
+        nanos[i] = snapshot[3 + i * 2];
+        counts[i] = snapshot[4 + i * 2];
+        count += counts[i];
+      }
+      this.count = count;
+    }
+
+    /** Returns the number of provisions. */
+    public long getCount() {
+      return count;
+    }
+
+    /** Returns the time spent in all provisions together. */
+    public Duration getTotalTime() {
+      return Duration.ofNanos(totalNanos);
+    }
+
+    /** Returns the shortest provision time, or zero if there were no provisions. */
+    public Duration getMin() {
+      return Duration.ofNanos(minNanos);
+    }
+
+    /** Returns the longest provision time, or zero if there were no provisions. */
+    public Duration getMax() {
+      return Duration.ofNanos(maxNanos);
+    }
+
+    /** Returns the mean provision time, or zero if there were no provisions. */
+    public Duration getMean() {
+      return Duration.ofNanos(count == 0 ? 0 : totalNanos / count);
+    }
+
+    /** Returns the standard deviation of the provision times. */
+    public Duration getStandardDeviation() {
+      if (count < 2) {
+        return Duration.ZERO;
+      }
+      double mean = (double) totalNanos / count;
+      double sumOfSquares = 0;
+      for (int i = 0; i < nanos.length; i++) {
+        double deviation = nanos[i] - mean;
+        sumOfSquares += deviation * deviation * counts[i];
+      }
+      return Duration.ofNanos(Math.round(Math.sqrt(sumOfSquares / (count - 1))));
+    }
+
+    /**
+     * Returns the provision time at {@code quantile}, such as 0.99 for the 99th percentile, or zero
+     * if there were no provisions.
+     */
+    public Duration getQuantile(double quantile) {
+      checkArgument(quantile >= 0 && quantile <= 1, "quantile must be in [0, 1]: %s", quantile);
+      if (count == 0) {
+        return Duration.ZERO;
+      }
+      long rank = Math.max(1, (long) Math.ceil(quantile * count));
+      long seen = 0;
+      for (int i = 0; i < nanos.length; i++) {
+        seen += counts[i];
+        if (seen >= rank) {
+          return Duration.ofNanos(nanos[i]);
+        }
+      }
+      return Duration.ofNanos(maxNanos);
+    }
+
+    @Override
+    public String toString() {
+      return "[count="
+          + count
+          + ", mean="
+          + getMean()
+          + ", p99="
+          + getQuantile(0.99)
+          + ", max="
+          + getMax()
+          + "]";
+    }
+  }
+}
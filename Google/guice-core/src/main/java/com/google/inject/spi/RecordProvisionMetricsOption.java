@@ -0,0 +1,33 @@
+package com.google.inject.spi;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.inject.Binder;
+
+/**
+ * A request to record provision counts and latencies for each binding.
+ *
+ * @see Binder#recordProvisionMetrics()
+ */
+public final class RecordProvisionMetricsOption implements Element {
+  private final Object source;
+
+  RecordProvisionMetricsOption(Object source) {
+    this.source = checkNotNull(source, "source");
+  }
+
+  @Override
+  public Object getSource() {
+    return source;
+  }
+
+  @Override
+  public void applyTo(Binder binder) {
+    binder.withSource(getSource()).recordProvisionMetrics();
+  }
+
+  @Override
+  public <T> T acceptVisitor(ElementVisitor<T> visitor) {
+    return visitor.visit(this);
+  }
+}
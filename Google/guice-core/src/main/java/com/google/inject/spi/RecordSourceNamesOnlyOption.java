@@ -0,0 +1,33 @@
+package com.google.inject.spi;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.inject.Binder;
+
+/**
+ * A request to record the declaring sources of elements without file names and line numbers.
+ *
+ * @see Binder#recordSourceNamesOnly()
+ */
+public final class RecordSourceNamesOnlyOption implements Element {
+  private final Object source;
+
+  RecordSourceNamesOnlyOption(Object source) {
+    this.source = checkNotNull(source, "source");
+  }
+
+  @Override
+  public Object getSource() {
+    return source;
+  }
+
+  @Override
+  public void applyTo(Binder binder) {
+    binder.withSource(getSource()).recordSourceNamesOnly();
+  }
+
+  @Override
+  public <T> T acceptVisitor(ElementVisitor<T> visitor) {
+    return visitor.visit(this);
+  }
+}
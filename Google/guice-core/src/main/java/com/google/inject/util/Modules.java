@@ -16,6 +16,8 @@
 
 package com.google.inject.util;
 
+import static com.google.common.base.Preconditions.checkNotNull;
+
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
@@ -45,6 +47,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executor;
 
 /**
  * Static utility methods for creating and working with instances of {@link Module}.
@@ -478,4 +481,56 @@ public final class Modules {
       binder.disableCircularProxies();
     }
   }
+
+  /**
+   * Returns a module that will configure the injector to create eager singletons concurrently on
+   * {@code executor}.
+   *
+   * @see Binder#preloadSingletonsInParallel(Executor)
+   */
+  public static Module preloadSingletonsInParallelModule(Executor executor) {
+    return new PreloadSingletonsInParallelModule(checkNotNull(executor, "executor"));
+  }
+
+  private static final class PreloadSingletonsInParallelModule implements Module {
+    private final Executor executor;
+
+    PreloadSingletonsInParallelModule(Executor executor) {
+      this.executor = executor;
+    }
+
+    @Override
+    public void configure(Binder binder) {
+      binder.preloadSingletonsInParallel(executor);
+    }
+  }
+
+  /**
+   * Returns a module that will configure the injector to record provision counts and latencies.
+   *
+   * @see Binder#recordProvisionMetrics()
+   */
+  public static Module recordProvisionMetricsModule() {
+    return new RecordProvisionMetricsModule();
+  }
+
+  private static final class RecordProvisionMetricsModule implements Module {
+    @Override
+    public void configure(Binder binder) {
+      binder.recordProvisionMetrics();
+    }
+  }
+
+  /**
+   * Returns a module that will configure the injector to record declaring sources without file
+   * names and line numbers. Install it before any other module.
+   *
+   * <p>The module replays a recorded {@link com.google.inject.spi.RecordSourceNamesOnlyOption}, so
+   * when modules are configured in parallel it takes effect before any other module is forked.
+   *
+   * @see Binder#recordSourceNamesOnly()
+   */
+  public static Module recordSourceNamesOnlyModule() {
+    return Elements.getModule(Elements.getElements(Binder::recordSourceNamesOnly));
+  }
 }
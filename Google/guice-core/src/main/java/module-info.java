@@ -8,6 +8,7 @@ module com.google.guice {
 	exports com.google.inject.binder;
 	exports com.google.inject.spi;
 	exports com.google.inject.multibindings;
+	exports com.google.inject.metrics;
 
 	exports com.google.inject.internal;
 	exports com.google.inject.internal.util;
@@ -20,8 +21,10 @@ module com.google.guice {
 
 	requires static jakarta.inject;
 	requires static jakarta.annotation;
+	requires static com.codahale.metrics;
 	
 	requires static jdk.unsupported;
+	requires static java.compiler;
 	requires org.objectweb.asm;
 
 	requires transitive aopalliance;
@@ -35,4 +38,6 @@ module com.google.guice {
     uses BindingAnnotationProvider;
 	uses NamedAnnotationProvider;
     uses InjectorAnnotationsProvider;
+
+    provides javax.annotation.processing.Processor with com.google.inject.internal.InjectionIndexProcessor;
 }
@@ -0,0 +1,32 @@
+package com.google.inject.tools.jmx;
+
+import java.util.Map;
+
+/**
+ * JMX interface to the {@link com.google.inject.spi.InjectorStats statistics} of an injector. Times
+ * are in milliseconds; map keys are phase names and binding keys respectively. Cache statistics
+ * map {@code hitCount}, {@code missCount}, {@code loadCount}, {@code evictionCount} and {@code
+ * totalLoadTimeNanos} to their values.
+ *
+ * @see ManagedInjectorStats
+ */
+public interface InjectorStatsMXBean {
+
+  /** Gets the total time taken to create the injector. */
+  double getCreationTimeMillis();
+
+  /** Gets the time spent in each phase of injector creation. */
+  Map<String, Double> getPhaseTimesMillis();
+
+  /** Gets the time taken to provision each eager singleton. */
+  Map<String, Double> getEagerSingletonTimesMillis();
+
+  /** Gets the number of just-in-time bindings created so far. */
+  long getJitBindingCount();
+
+  /** Gets the statistics of the cache of members injectors. */
+  Map<String, Long> getMembersInjectorCacheStats();
+
+  /** Gets the statistics of the cache of constructor injectors. */
+  Map<String, Long> getConstructorInjectorCacheStats();
+}
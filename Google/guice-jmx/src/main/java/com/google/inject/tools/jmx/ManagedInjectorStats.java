@@ -0,0 +1,98 @@
+package com.google.inject.tools.jmx;
+
+import com.google.common.cache.CacheStats;
+import com.google.inject.Injector;
+import com.google.inject.spi.InjectorStats;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Exposes the {@link InjectorStats} of an injector as an MXBean named {@code
+ * <domain>:type=InjectorStats}, next to the bindings registered by {@link Manager}. Every read takes
+ * a fresh snapshot, so the just-in-time binding count stays current.
+ */
+public class ManagedInjectorStats implements InjectorStatsMXBean {
+
+  private final Injector injector;
+
+  public ManagedInjectorStats(Injector injector) {
+    this.injector = injector;
+  }
+
+  /** Registers the statistics of {@code injector} with the platform MBean server. */
+  public static void manage(String domain, Injector injector) {
+    manage(ManagementFactory.getPlatformMBeanServer(), domain, injector);
+  }
+
+  /**
+   * Registers the statistics of {@code injector} with {@code server}.
+   *
+   * @throws RuntimeException if registration fails, for example because {@code domain} already has
+   *     statistics registered
+   */
+  public static void manage(MBeanServer server, String domain, Injector injector) {
+    try {
+      server.registerMBean(
+          new ManagedInjectorStats(injector), new ObjectName(domain + ":type=InjectorStats"));
+    } catch (JMException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  @Override
+  public double getCreationTimeMillis() {
+    return millis(InjectorStats.of(injector).getCreationTime());
+  }
+
+  @Override
+  public Map<String, Double> getPhaseTimesMillis() {
+    Map<String, Double> phaseTimes = new LinkedHashMap<>();
+    InjectorStats.of(injector)
+        .getPhaseTimes()
+        .forEach((phase, time) -> phaseTimes.put(phase, millis(time)));
+    return phaseTimes;
+  }
+
+  @Override
+  public Map<String, Double> getEagerSingletonTimesMillis() {
+    Map<String, Double> eagerSingletonTimes = new LinkedHashMap<>();
+    InjectorStats.of(injector)
+        .getEagerSingletonTimes()
+        .forEach((key, time) -> eagerSingletonTimes.put(key.toString(), millis(time)));
+    return eagerSingletonTimes;
+  }
+
+  @Override
+  public long getJitBindingCount() {
+    return InjectorStats.of(injector).getJitBindingCount();
+  }
+
+  @Override
+  public Map<String, Long> getMembersInjectorCacheStats() {
+    return cacheStats(InjectorStats.of(injector).getMembersInjectorCacheStats());
+  }
+
+  @Override
+  public Map<String, Long> getConstructorInjectorCacheStats() {
+    return cacheStats(InjectorStats.of(injector).getConstructorInjectorCacheStats());
+  }
+
+  private static Map<String, Long> cacheStats(CacheStats stats) {
+    Map<String, Long> cacheStats = new LinkedHashMap<>();
+    cacheStats.put("hitCount", stats.hitCount());
+    cacheStats.put("missCount", stats.missCount());
+    cacheStats.put("loadCount", stats.loadCount());
+    cacheStats.put("evictionCount", stats.evictionCount());
+    cacheStats.put("totalLoadTimeNanos", stats.totalLoadTime());
+    return cacheStats;
+  }
+
+  private static double millis(Duration duration) {
+    return duration.toNanos() / 1_000_000d;
+  }
+}